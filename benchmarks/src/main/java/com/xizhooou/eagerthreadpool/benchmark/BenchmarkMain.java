@@ -0,0 +1,41 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 入口：
+ * - 带参数时等价于 JMH 原生命令行，例如 {@code java -jar benchmarks.jar ExecuteThroughput -t 16 -prof gc}
+ * - 不带参数时按 1~64 个生产者线程依次跑完整套对比，并开启 gc profiler 统计每任务分配
+ */
+public final class BenchmarkMain {
+
+    private static final int[] PRODUCER_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        for (int threads : PRODUCER_THREADS) {
+            Options opt = new OptionsBuilder()
+                    .include(ExecuteThroughputBenchmark.class.getSimpleName())
+                    .include(SubmitToStartLatencyBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-t" + threads + ".json")
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * execute() 吞吐：生产者线程数通过 -t 或 {@link BenchmarkMain} 指定
+ * 配合 -prof gc 观察 gc.alloc.rate.norm 即为每个任务的分配字节数
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteThroughputBenchmark {
+
+    @Param({"EAGER", "EAGER_RING", "TPE_LINKED", "TOMCAT_STYLE", "FORK_JOIN"})
+    public ExecutorKind kind;
+
+    @Param({"64", "1024", "16384"})
+    public int queueCapacity;
+
+    // 每个任务消耗的 CPU token，0 表示空任务
+    @Param({"0", "100"})
+    public int taskWork;
+
+    private ExecutorService executor;
+    private Runnable task;
+    private boolean throttle;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = kind.create(ExecutorKind.defaultCoreSize(), ExecutorKind.defaultMaxSize(), queueCapacity);
+        throttle = kind.unbounded();
+        final int work = taskWork;
+        if (throttle) {
+            task = () -> {
+                Blackhole.consumeCPU(work);
+                inFlight.decrementAndGet();
+            };
+        } else {
+            task = () -> Blackhole.consumeCPU(work);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        ExecutorKind.shutdown(executor);
+    }
+
+    @Benchmark
+    public void execute() {
+        if (throttle) {
+            while (inFlight.get() >= queueCapacity) {
+                Thread.onSpinWait();
+            }
+            inFlight.incrementAndGet();
+        }
+        executor.execute(task);
+    }
+}
@@ -0,0 +1,116 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.QueueType;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 参与对比的线程池实现
+ * 所有有界实现统一使用 CallerRunsPolicy 作为背压，避免拒绝异常干扰吞吐测量
+ */
+public enum ExecutorKind {
+
+    EAGER {
+        @Override
+        ExecutorService create(int core, int max, int queueCapacity) {
+            return EagerThreadPoolBuilder.newBuilder()
+                    .name("bench-eager")
+                    .corePoolSize(core)
+                    .maximumPoolSize(max)
+                    .queueCapacity(queueCapacity)
+                    .threadFactory(daemonFactory("bench-eager"))
+                    .rejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+                    .prestartAllCoreThreads(true)
+                    .build();
+        }
+    },
+
+    EAGER_RING {
+        @Override
+        ExecutorService create(int core, int max, int queueCapacity) {
+            return EagerThreadPoolBuilder.newBuilder()
+                    .name("bench-eager-ring")
+                    .corePoolSize(core)
+                    .maximumPoolSize(max)
+                    .queueCapacity(queueCapacity)
+                    .queueType(QueueType.RING)
+                    .threadFactory(daemonFactory("bench-eager-ring"))
+                    .rejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+                    .prestartAllCoreThreads(true)
+                    .build();
+        }
+    },
+
+    TPE_LINKED {
+        @Override
+        ExecutorService create(int core, int max, int queueCapacity) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(core, max, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    daemonFactory("bench-tpe"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.prestartAllCoreThreads();
+            return executor;
+        }
+    },
+
+    TOMCAT_STYLE {
+        @Override
+        ExecutorService create(int core, int max, int queueCapacity) {
+            TomcatStyleTaskQueue.TomcatStyleExecutor executor = new TomcatStyleTaskQueue.TomcatStyleExecutor(
+                    core, max, new TomcatStyleTaskQueue(queueCapacity),
+                    daemonFactory("bench-tomcat"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.prestartAllCoreThreads();
+            return executor;
+        }
+    },
+
+    FORK_JOIN {
+        @Override
+        ExecutorService create(int core, int max, int queueCapacity) {
+            // ForkJoinPool 没有队列上限，由 benchmark 侧按 queueCapacity 做在途任务限流
+            return new ForkJoinPool(max);
+        }
+
+        @Override
+        boolean unbounded() {
+            return true;
+        }
+    };
+
+    abstract ExecutorService create(int core, int max, int queueCapacity);
+
+    boolean unbounded() {
+        return false;
+    }
+
+    static int defaultCoreSize() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    static int defaultMaxSize() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger seq = new AtomicInteger(0);
+        return r -> {
+            Thread t = new Thread(r);
+            t.setName(prefix + "-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 递归拆分：每个任务在 worker 内继续提交两个子任务，测量一棵 2^(depth+1)-1 个任务的树的完成时间
+ * 对比共享队列、工作窃取模式与 ForkJoinPool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FanOutBenchmark {
+
+    @Param({"EAGER", "EAGER_STEALING", "FORK_JOIN"})
+    public String kind;
+
+    @Param({"14"})
+    public int depth;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int core = ExecutorKind.defaultCoreSize();
+        int max = ExecutorKind.defaultMaxSize();
+        if ("FORK_JOIN".equals(kind)) {
+            executor = new ForkJoinPool(max);
+            return;
+        }
+        executor = EagerThreadPoolBuilder.newBuilder()
+                .name("bench-fanout")
+                .corePoolSize(core)
+                .maximumPoolSize(max)
+                .queueCapacity(4096)
+                .workStealing("EAGER_STEALING".equals(kind))
+                .rejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+                .prestartAllCoreThreads(true)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        ExecutorKind.shutdown(executor);
+    }
+
+    @Benchmark
+    public void tree() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch((1 << (depth + 1)) - 1);
+        executor.execute(new Node(executor, depth, done));
+        done.await();
+    }
+
+    private record Node(ExecutorService executor, int depth, CountDownLatch done) implements Runnable {
+        @Override
+        public void run() {
+            if (depth > 0) {
+                executor.execute(new Node(executor, depth - 1, done));
+                executor.execute(new Node(executor, depth - 1, done));
+            }
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * eager 入队判断读取线程数的开销：getPoolSize() 需要 mainLock，getLiveWorkerCount() 为无锁读
+ * 默认 32 个线程并发读取，同时后台持续提交任务让 worker 不断创建、回收，模拟真实的 mainLock 竞争
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PoolSizeReadBenchmark {
+
+    private EagerThreadPoolExecutor executor;
+    private Thread churn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = EagerThreadPoolBuilder.newBuilder()
+                .name("bench-pool-size")
+                .corePoolSize(1)
+                .maximumPoolSize(ExecutorKind.defaultMaxSize())
+                .queueCapacity(1024)
+                .keepAlive(1, TimeUnit.MILLISECONDS)
+                .rejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy())
+                .build();
+        churn = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                for (int i = 0; i < ExecutorKind.defaultMaxSize(); i++) {
+                    executor.execute(() -> { });
+                }
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bench-pool-size-churn");
+        churn.setDaemon(true);
+        churn.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        churn.interrupt();
+        churn.join();
+        ExecutorKind.shutdown(executor);
+    }
+
+    @Benchmark
+    public int lockedPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    @Benchmark
+    public int lockFreeLiveWorkerCount() {
+        return executor.getLiveWorkerCount();
+    }
+}
@@ -0,0 +1,107 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 拒绝风暴：线程与队列都已占满，每次 execute 都走拒绝路径（DiscardPolicy，不抛异常）
+ * - DECORATOR：线程池内置的拒绝策略装饰器
+ * - PROXY：在装饰器外再套一层与旧实现相同的 JDK 动态代理，用于对比反射调用的开销
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectionBenchmark {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"DECORATOR", "PROXY"})
+    public String mode;
+
+    private EagerThreadPoolExecutor executor;
+    private CountDownLatch release;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        executor = EagerThreadPoolBuilder.newBuilder()
+                .name("bench-reject")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy())
+                .latencyTracking(false)
+                .build();
+        if ("PROXY".equals(mode)) {
+            executor.setRejectedExecutionHandler(reflectiveProxy(executor.getRejectedExecutionHandler()));
+        }
+        release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        started.await();
+        executor.execute(NOOP);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        ExecutorKind.shutdown(executor);
+    }
+
+    @Benchmark
+    public void executeRejected() {
+        executor.execute(NOOP);
+    }
+
+    @Benchmark
+    public void handlerOnly() {
+        executor.getRejectedExecutionHandler().rejectedExecution(NOOP, executor);
+    }
+
+    private static RejectedExecutionHandler reflectiveProxy(RejectedExecutionHandler target) {
+        InvocationHandler h = (proxy, method, args) -> {
+            if (!"rejectedExecution".equals(method.getName())) {
+                return method.invoke(target, args);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+        return (RejectedExecutionHandler) Proxy.newProxyInstance(
+                RejectedExecutionHandler.class.getClassLoader(),
+                new Class[]{RejectedExecutionHandler.class}, h);
+    }
+}
@@ -0,0 +1,73 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提交到开始执行的延迟分布：每次操作提交一个任务并自旋等待它被 worker 取走执行
+ * SampleTime 模式直接输出 p50/p90/p99/p99.9/max
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitToStartLatencyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        @Param({"EAGER", "EAGER_RING", "TPE_LINKED", "TOMCAT_STYLE", "FORK_JOIN"})
+        public ExecutorKind kind;
+
+        @Param({"64", "1024"})
+        public int queueCapacity;
+
+        ExecutorService executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = kind.create(ExecutorKind.defaultCoreSize(), ExecutorKind.defaultMaxSize(), queueCapacity);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            ExecutorKind.shutdown(executor);
+        }
+    }
+
+    /** 每个生产者线程复用同一个任务对象，避免测量到 harness 自身的分配 */
+    @State(Scope.Thread)
+    public static class Probe implements Runnable {
+
+        volatile boolean started;
+
+        @Override
+        public void run() {
+            started = true;
+        }
+    }
+
+    @Benchmark
+    public void submitToStart(Pool pool, Probe probe) {
+        probe.started = false;
+        pool.executor.execute(probe);
+        while (!probe.started) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import com.xizhooou.eagerthreadpool.AtomicTaskCounter;
+import com.xizhooou.eagerthreadpool.StripedTaskCounter;
+import com.xizhooou.eagerthreadpool.TaskCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * submittedTaskCount 的 +1/-1 热点：execute 与 afterExecute 成对调用，默认 32 线程并发
+ * exactRead 模拟 eager offer 的判断读
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskCounterBenchmark {
+
+    @Param({"ATOMIC", "STRIPED"})
+    public String type;
+
+    private TaskCounter counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        counter = "STRIPED".equals(type) ? new StripedTaskCounter() : new AtomicTaskCounter();
+    }
+
+    @Benchmark
+    public void incrementDecrement() {
+        counter.add(1);
+        counter.add(-1);
+    }
+
+    @Benchmark
+    public int incrementExactReadDecrement() {
+        counter.add(1);
+        int v = counter.getExact();
+        counter.add(-1);
+        return v;
+    }
+}
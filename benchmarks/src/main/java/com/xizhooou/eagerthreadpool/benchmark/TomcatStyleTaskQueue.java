@@ -0,0 +1,84 @@
+package com.xizhooou.eagerthreadpool.benchmark;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 仿 Tomcat 的 TaskQueue + ThreadPoolExecutor，作为 eager 线程池的对照组
+ * 逻辑参考 org.apache.tomcat.util.threads.TaskQueue#offer，不引入 tomcat 依赖
+ */
+final class TomcatStyleTaskQueue extends LinkedBlockingQueue<Runnable> {
+
+    private transient volatile TomcatStyleExecutor parent;
+
+    TomcatStyleTaskQueue(int capacity) {
+        super(capacity);
+    }
+
+    void setParent(TomcatStyleExecutor parent) {
+        this.parent = parent;
+    }
+
+    boolean force(Runnable o) {
+        if (parent == null || parent.isShutdown()) {
+            throw new RejectedExecutionException("executor not running, can't force a command into the queue");
+        }
+        return super.offer(o);
+    }
+
+    @Override
+    public boolean offer(Runnable o) {
+        if (parent == null) {
+            return super.offer(o);
+        }
+        if (parent.getPoolSize() == parent.getMaximumPoolSize()) {
+            return super.offer(o);
+        }
+        if (parent.getSubmittedCount() <= parent.getPoolSize()) {
+            return super.offer(o);
+        }
+        if (parent.getPoolSize() < parent.getMaximumPoolSize()) {
+            return false;
+        }
+        return super.offer(o);
+    }
+
+    static final class TomcatStyleExecutor extends ThreadPoolExecutor {
+
+        private final AtomicInteger submittedCount = new AtomicInteger(0);
+
+        TomcatStyleExecutor(int core, int max, TomcatStyleTaskQueue queue,
+                            ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+            super(core, max, 60, TimeUnit.SECONDS, queue, threadFactory, handler);
+            queue.setParent(this);
+        }
+
+        int getSubmittedCount() {
+            return submittedCount.get();
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            submittedCount.decrementAndGet();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submittedCount.incrementAndGet();
+            try {
+                super.execute(command);
+            } catch (RejectedExecutionException rx) {
+                TomcatStyleTaskQueue queue = (TomcatStyleTaskQueue) getQueue();
+                if (!queue.force(command)) {
+                    submittedCount.decrementAndGet();
+                    throw new RejectedExecutionException("queue capacity is full", rx);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按预估排队耗时做准入：预估值 = 排队任务数 / 近期完成速率，超过预算直接走拒绝策略
+ * - 排队数取 submittedTaskCount - 存活 worker 数，两者都是无锁读取，判断时不碰队列锁
+ * - 完成速率按 SAMPLE_INTERVAL_NANOS 采样一次、EWMA 平滑；采样由准入判断顺带完成，只有抢到 CAS 的线程计算
+ * - 还能扩容（存活 worker < maximumPoolSize）时不做判断，新任务会由新 worker 立即执行
+ * - 还没有速率样本时一律放行；窗口内既无完成也无排队（空闲）或窗口过长时不更新速率
+ */
+final class AdmissionController {
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // 超过该长度的窗口视为空闲后的第一次采样，丢弃，避免把空闲时间算进速率
+    private static final long MAX_WINDOW_NANOS = SAMPLE_INTERVAL_NANOS * 10;
+    private static final double ALPHA = 0.3;
+
+    private final long budgetNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final AtomicLong windowStart;
+    private volatile long windowCompleted;
+    // 每纳秒完成的任务数，< 0 表示还没有样本
+    private volatile double ratePerNano = -1;
+
+    private final LongAdder shed = new LongAdder();
+
+    AdmissionController(long budget, TimeUnit unit) {
+        this.budgetNanos = unit.toNanos(budget);
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    void onCompleted() {
+        completed.increment();
+    }
+
+    /**
+     * @return false 表示应立即拒绝
+     */
+    boolean admit(int queued) {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= SAMPLE_INTERVAL_NANOS && windowStart.compareAndSet(start, now)) {
+            sample(now - start, queued);
+        }
+        if (queued <= 0) {
+            return true;
+        }
+        double rate = ratePerNano;
+        if (rate < 0) {
+            return true;
+        }
+        if (rate == 0 || queued / rate > budgetNanos) {
+            shed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 当前排队数下新任务的预估等待，纳秒；没有样本时为 0，速率为 0 时为 Long.MAX_VALUE
+     */
+    long predictWaitNanos(int queued) {
+        double rate = ratePerNano;
+        if (queued <= 0 || rate < 0) {
+            return 0;
+        }
+        if (rate == 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.min(Long.MAX_VALUE, queued / rate);
+    }
+
+    long getShedCount() {
+        return shed.sum();
+    }
+
+    long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    // 只有抢到窗口的线程进入
+    private void sample(long elapsed, int queued) {
+        long total = completed.sum();
+        long delta = total - windowCompleted;
+        windowCompleted = total;
+        if (elapsed > MAX_WINDOW_NANOS || (delta == 0 && queued <= 0)) {
+            return;
+        }
+        double sampleRate = (double) delta / elapsed;
+        double prev = ratePerNano;
+        ratePerNano = prev < 0 ? sampleRate : prev + ALPHA * (sampleRate - prev);
+    }
+}
@@ -0,0 +1,62 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link EagerThreadPoolExecutor#submitAsync(Supplier)} 的任务节点：任务本身就是返回给调用方的 future，
+ * 每次提交只分配这一个对象，不再有 FutureTask + CompletableFuture 两层
+ * - 执行前已完成（被 cancel/complete）则跳过
+ * - supplier 抛出的异常以异常完成，不会抛到 worker 的 afterExecute
+ * - 被丢弃型拒绝策略（如 DiscardPolicy）静默丢弃、或被 DiscardOldestPolicy 挤出队列时以 RejectedExecutionException 完成；
+ *   执行与丢弃通过 CAS 取走 supplier 竞争，只有一方生效，已重新入队的任务不受影响
+ * - shutdownNow 返回的任务不会自动完成，由调用方处理
+ */
+public final class AsyncTask<T> extends CompletableFuture<T> implements DroppableTask {
+
+    private static final VarHandle SUPPLIER;
+
+    static {
+        try {
+            SUPPLIER = MethodHandles.lookup().findVarHandle(AsyncTask.class, "supplier", Supplier.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 执行或丢弃时置 null，同时避免通过 future 长期持有其捕获的对象
+    private volatile Supplier<? extends T> supplier;
+
+    AsyncTask(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void run() {
+        Supplier<? extends T> s = supplier;
+        if (s == null || !SUPPLIER.compareAndSet(this, s, null) || isDone()) {
+            return;
+        }
+        try {
+            complete(s.get());
+        } catch (Throwable ex) {
+            completeExceptionally(ex);
+        }
+    }
+
+    @Override
+    public void drop(RejectedExecutionException cause) {
+        Supplier<? extends T> s = supplier;
+        if (s != null && SUPPLIER.compareAndSet(this, s, null)) {
+            completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncTask[" + super.toString() + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AtomicTaskCounter implements TaskCounter {
+
+    private final AtomicInteger value = new AtomicInteger(0);
+
+    @Override
+    public void add(int delta) {
+        if (delta == 0) return;
+        for (;;) {
+            int cur = value.get();
+            int next = Math.max(cur + delta, 0);
+            if (value.compareAndSet(cur, next)) return;
+        }
+    }
+
+    @Override
+    public int get() {
+        return value.get();
+    }
+
+    @Override
+    public int getExact() {
+        return value.get();
+    }
+}
@@ -0,0 +1,141 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 容器内可用 CPU：取 cgroup CPU 配额与 availableProcessors() 中较小的一个，配额可以是小数（如 1.5 核）
+ * - cgroup v2：读取 cpu.max（"quota period" 或 "max period"）
+ * - cgroup v1：读取 cpu.cfs_quota_us / cpu.cfs_period_us，-1 表示不限制
+ * 从 /proc/self/cgroup 中的路径逐级向上查找，祖先 cgroup 的配额同样生效，取最小值；读取失败视为不限制
+ */
+public final class CpuQuota {
+
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+    private static final Path PROC_SELF_CGROUP = Path.of("/proc/self/cgroup");
+
+    private CpuQuota() {
+    }
+
+    public static double effectiveCpus() {
+        return effectiveCpus(CGROUP_ROOT, PROC_SELF_CGROUP, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 指定 cgroup 挂载点与 /proc/self/cgroup 文件，用于非标准挂载或测试
+     */
+    public static double effectiveCpus(Path cgroupRoot, Path procSelfCgroup, int availableProcessors) {
+        double quota = quotaCpus(cgroupRoot, procSelfCgroup);
+        return quota > 0 ? Math.min(quota, availableProcessors) : availableProcessors;
+    }
+
+    /**
+     * cgroup CPU 配额折算的核数，没有配额时返回 -1
+     */
+    public static double quotaCpus(Path cgroupRoot, Path procSelfCgroup) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(procSelfCgroup);
+        } catch (IOException | RuntimeException e) {
+            lines = List.of();
+        }
+        double best = -1;
+        for (String line : lines) {
+            // hierarchy-id:controllers:path
+            String[] parts = line.split(":", 3);
+            if (parts.length != 3) {
+                continue;
+            }
+            String path = parts[2].isEmpty() ? "/" : parts[2];
+            if (parts[0].equals("0") && parts[1].isEmpty()) {
+                best = min(best, walk(cgroupRoot, path, true));
+            } else if (hasController(parts[1], "cpu")) {
+                best = min(best, walk(cgroupRoot.resolve(parts[1]), path, false));
+                best = min(best, walk(cgroupRoot.resolve("cpu"), path, false));
+            }
+        }
+        if (best < 0) {
+            // 没有 /proc/self/cgroup 时只看挂载点根目录
+            best = min(readV2(cgroupRoot), readV1(cgroupRoot.resolve("cpu")));
+        }
+        return best;
+    }
+
+    // 从 base + path 向上到 base，取各级配额的最小值
+    private static double walk(Path base, String path, boolean v2) {
+        if (!Files.isDirectory(base)) {
+            return -1;
+        }
+        double best = -1;
+        Path dir = base.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        // 容器内通常只挂载了自己的 cgroup，路径不存在时退回挂载点根目录
+        if (!dir.startsWith(base) || !Files.isDirectory(dir)) {
+            dir = base;
+        }
+        for (Path d = dir; d != null && d.startsWith(base); d = d.getParent()) {
+            best = min(best, v2 ? readV2(d) : readV1(d));
+        }
+        return best;
+    }
+
+    private static double readV2(Path dir) {
+        String[] parts = readFirstLine(dir.resolve("cpu.max"));
+        if (parts == null || parts.length < 2 || parts[0].equals("max")) {
+            return -1;
+        }
+        return ratio(parts[0], parts[1]);
+    }
+
+    private static double readV1(Path dir) {
+        String[] quota = readFirstLine(dir.resolve("cpu.cfs_quota_us"));
+        String[] period = readFirstLine(dir.resolve("cpu.cfs_period_us"));
+        if (quota == null || period == null) {
+            return -1;
+        }
+        return ratio(quota[0], period[0]);
+    }
+
+    private static double ratio(String quota, String period) {
+        try {
+            long q = Long.parseLong(quota);
+            long p = Long.parseLong(period);
+            return (q > 0 && p > 0) ? (double) q / p : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String[] readFirstLine(Path file) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            List<String> lines = Files.readAllLines(file);
+            return lines.isEmpty() ? null : lines.get(0).trim().split("\\s+");
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasController(String controllers, String name) {
+        for (String c : controllers.split(",")) {
+            if (c.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 忽略 -1（不限制）
+    private static double min(double a, double b) {
+        if (a <= 0) {
+            return b;
+        }
+        if (b <= 0) {
+            return a;
+        }
+        return Math.min(a, b);
+    }
+}
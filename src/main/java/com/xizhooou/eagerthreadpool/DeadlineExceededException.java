@@ -0,0 +1,20 @@
+package com.xizhooou.eagerthreadpool;
+
+/**
+ * 任务在截止时间之后才被 worker 取出，未执行即被跳过
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long overdueNanos;
+
+    public DeadlineExceededException(long overdueNanos) {
+        super("task deadline exceeded by " + overdueNanos + "ns before execution, skipped");
+        this.overdueNanos = overdueNanos;
+    }
+
+    public long getOverdueNanos() {
+        return overdueNanos;
+    }
+}
@@ -0,0 +1,106 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 带截止时间的任务：worker 取出时已过期则不执行，以 {@link DeadlineExceededException} 异常完成
+ * 截止时间换算为 System.nanoTime 基准，不受墙上时钟回拨影响；保留被包装任务的优先级
+ * 通过 execute(Runnable, Instant) 提交的任务没有调用方持有 future，执行抛出的异常在 run 中重新抛出，
+ * 与 execute(Runnable) 一样交给 afterExecute 和 UncaughtExceptionHandler
+ */
+final class DeadlineFutureTask<V> extends FutureTask<V> implements PrioritizedRunnable {
+
+    private final long deadlineNanos;
+    private final int priority;
+    private final EagerThreadPoolExecutor executor;
+    // 只在 execute(Runnable, Instant) 时为 true
+    private final boolean rethrow;
+    // 本次执行失败的异常，由执行线程写入和读取
+    private Throwable failure;
+
+    DeadlineFutureTask(Callable<V> callable, long deadlineNanos, EagerThreadPoolExecutor executor) {
+        super(callable);
+        this.deadlineNanos = deadlineNanos;
+        this.priority = priorityOf(callable);
+        this.executor = executor;
+        this.rethrow = false;
+    }
+
+    DeadlineFutureTask(Runnable runnable, long deadlineNanos, EagerThreadPoolExecutor executor) {
+        super(runnable, null);
+        this.deadlineNanos = deadlineNanos;
+        this.priority = priorityOf(runnable);
+        this.executor = executor;
+        this.rethrow = true;
+    }
+
+    static long toDeadlineNanos(Instant deadline) {
+        return toDeadlineNanos(Duration.between(Instant.now(), deadline));
+    }
+
+    static long toDeadlineNanos(Duration ttl) {
+        long ttlNanos;
+        try {
+            ttlNanos = ttl.toNanos();
+        } catch (ArithmeticException e) {
+            ttlNanos = ttl.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+        }
+        ttlNanos = Math.max(Long.MIN_VALUE / 2, Math.min(Long.MAX_VALUE / 2, ttlNanos));
+        return System.nanoTime() + ttlNanos;
+    }
+
+    boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public void run() {
+        if (isExpired()) {
+            skip();
+            return;
+        }
+        super.run();
+        Throwable t = failure;
+        if (t != null) {
+            failure = null;
+            // Runnable 只会抛出非受检异常
+            if (t instanceof RuntimeException re) {
+                throw re;
+            }
+            if (t instanceof Error err) {
+                throw err;
+            }
+        }
+    }
+
+    @Override
+    protected void setException(Throwable t) {
+        super.setException(t);
+        if (rethrow && !(t instanceof DeadlineExceededException)) {
+            failure = t;
+        }
+    }
+
+    /**
+     * 以过期异常完成；已完成或已取消的任务不计数
+     */
+    void skip() {
+        if (isDone()) {
+            return;
+        }
+        setException(new DeadlineExceededException(System.nanoTime() - deadlineNanos));
+        executor.onDeadlineSkipped();
+    }
+
+    private static int priorityOf(Object task) {
+        return (task instanceof PrioritizedRunnable p) ? p.getPriority() : PrioritizedRunnable.DEFAULT_PRIORITY;
+    }
+}
@@ -0,0 +1,15 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 被拒绝策略静默丢弃后需要收尾的任务（有等待方的 future、定时任务、有序执行的邮箱）
+ * drop 与 run 竞争同一次调度，只有先到的一方生效：CallerRuns 已执行过的不会再被当作丢弃
+ */
+interface DroppableTask extends Runnable {
+
+    /**
+     * 本次调度已被丢弃、不会再执行
+     */
+    void drop(RejectedExecutionException cause);
+}
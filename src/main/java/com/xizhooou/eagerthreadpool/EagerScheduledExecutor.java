@@ -0,0 +1,270 @@
+package com.xizhooou.eagerthreadpool;
+
+import com.xizhooou.eagerthreadpool.timer.HashedTimingWheel;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于哈希时间轮的 ScheduledExecutorService：定时、取消都是 O(1)，到期的任务交给 {@link EagerThreadPoolExecutor} 执行，
+ * 集中到期时按 eager 策略扩容到 maximumPoolSize，拒绝计数、告警与普通提交完全一致
+ * - 到期精度为时间轮的一个 tick
+ * - 周期任务在本次执行结束后才计算下一次，同一任务不会并发执行；固定频率任务落后时会立即补跑
+ * - 到期交付被拒绝时（策略抛出异常或静默丢弃）：一次性任务以 RejectedExecutionException 异常完成，周期任务跳过本次、按周期继续
+ * - 交付在时间轮线程上进行，拒绝策略应当很快返回，不要使用 CallerRunsPolicy 或较长的 retryOfferTimeout
+ * - shutdown 后不再接收新任务，尚未到期的任务被取消，已交付的任务照常执行完
+ */
+public class EagerScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final EagerThreadPoolExecutor executor;
+    private final HashedTimingWheel wheel;
+    // 尚未结束的定时任务，shutdown 时逐个取消，否则 get() 的调用方会一直等待
+    private final Set<ScheduledTask<?>> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown;
+
+    public EagerScheduledExecutor(EagerThreadPoolExecutor executor, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.wheel = new HashedTimingWheel(executor.getPoolName() + "-timer", tickDuration, unit, ticksPerWheel);
+    }
+
+    /**
+     * 执行到期任务的线程池
+     */
+    public EagerThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 尚未结束的定时任务数（含周期任务）
+     */
+    public int getScheduledTaskNum() {
+        return scheduled.size();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        return schedule0(new ScheduledTask<Void>(Executors.callable(command, null), 0), unit.toNanos(delay));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Objects.requireNonNull(callable, "callable");
+        Objects.requireNonNull(unit, "unit");
+        return schedule0(new ScheduledTask<>(callable, 0), unit.toNanos(delay));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be > 0");
+        }
+        return schedule0(new ScheduledTask<Void>(Executors.callable(command, null), unit.toNanos(period)),
+                unit.toNanos(initialDelay));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(unit, "unit");
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be > 0");
+        }
+        return schedule0(new ScheduledTask<Void>(Executors.callable(command, null), -unit.toNanos(delay)),
+                unit.toNanos(initialDelay));
+    }
+
+    /**
+     * 立即执行，直接提交给线程池
+     */
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        cancelScheduled();
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        cancelScheduled();
+        return executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private void cancelScheduled() {
+        for (ScheduledTask<?> task : scheduled) {
+            task.cancel(false);
+        }
+        wheel.stop();
+    }
+
+    private <V> ScheduledTask<V> schedule0(ScheduledTask<V> task, long delayNanos) {
+        if (shutdown) {
+            throw new RejectedExecutionException("scheduler is shutdown");
+        }
+        scheduled.add(task);
+        task.armAt(System.nanoTime() + Math.max(0, delayNanos));
+        // 与 shutdown 并发时，cancelScheduled 可能没看到刚加入的任务
+        if (shutdown) {
+            task.cancel(false);
+            throw new RejectedExecutionException("scheduler is shutdown");
+        }
+        return task;
+    }
+
+    private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V>, DroppableTask {
+
+        // 0 为一次性任务，> 0 为固定频率，< 0 为固定延迟
+        private final long period;
+        // 下一次到期时间，System.nanoTime 基准
+        private volatile long triggerNanos;
+        private volatile HashedTimingWheel.Timeout timeout;
+        // 已交给线程池、尚未开始执行；与静默丢弃竞争，只有一方生效
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+
+        ScheduledTask(Callable<V> callable, long period) {
+            super(callable);
+            this.period = period;
+        }
+
+        // 在时间轮上登记下一次到期，已经过了到期时间的在下一个 tick 执行；时间轮已停止时取消
+        void armAt(long trigger) {
+            triggerNanos = trigger;
+            try {
+                timeout = wheel.newTimeout(this::fire, trigger - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (IllegalStateException e) {
+                cancel(false);
+            }
+        }
+
+        // 在时间轮线程上执行：交给线程池，计数、拒绝、告警都走线程池的 execute
+        private void fire() {
+            if (isDone()) {
+                return;
+            }
+            dispatched.set(true);
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                drop(e);
+            }
+        }
+
+        // 本次交付被拒绝：策略抛出异常时由 fire 调用，静默丢弃（DiscardPolicy 等）时由线程池的 runRejectionHandler 调用
+        @Override
+        public void drop(RejectedExecutionException cause) {
+            if (!dispatched.compareAndSet(true, false)) {
+                return;
+            }
+            if (isPeriodic() && !shutdown && !executor.isShutdown()) {
+                // 跳过本次，按原周期继续；落后时跳到当前时间之后的下一个周期，避免每个 tick 都重试
+                armAt(skippedTriggerNanos());
+            } else {
+                setException(cause);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!dispatched.compareAndSet(true, false)) {
+                // 本次交付已被当作丢弃处理
+                return;
+            }
+            if (!isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset()) {
+                if (shutdown) {
+                    cancel(false);
+                } else {
+                    armAt(nextTriggerNanos());
+                }
+            }
+        }
+
+        private long nextTriggerNanos() {
+            if (period > 0) {
+                // 固定频率：以上次计划时间为基准，落后时立即补跑
+                return triggerNanos + period;
+            }
+            return System.nanoTime() - period;
+        }
+
+        private long skippedTriggerNanos() {
+            long next = nextTriggerNanos();
+            long now = System.nanoTime();
+            if (period > 0 && next - now < 0) {
+                next += ((now - next) / period + 1) * period;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            HashedTimingWheel.Timeout t = timeout;
+            if (cancelled && t != null) {
+                t.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            scheduled.remove(this);
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(triggerNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.xizhooou.eagerthreadpool;
 
+import com.xizhooou.eagerthreadpool.adaptive.AdaptivePoolSizeController;
+import com.xizhooou.eagerthreadpool.adaptive.AdaptiveSizingConfig;
+import com.xizhooou.eagerthreadpool.adaptive.PoolSizeDecision;
+import com.xizhooou.eagerthreadpool.alert.AlertSink;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertConfig;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertState;
 import com.xizhooou.eagerthreadpool.alert.RollingWindowCounter;
+import com.xizhooou.eagerthreadpool.registry.EagerThreadPoolRegistry;
+import com.xizhooou.eagerthreadpool.spill.OverflowSpill;
+import com.xizhooou.eagerthreadpool.spill.SpillSegmentStore;
+import com.xizhooou.eagerthreadpool.spill.SpillTaskDecoder;
+import com.xizhooou.eagerthreadpool.spill.SpillableTask;
 
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -11,6 +21,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class EagerThreadPoolBuilder {
 
@@ -20,11 +31,47 @@ public class EagerThreadPoolBuilder {
     private long keepAliveTime = 60;
     private TimeUnit keepAliveUnit = TimeUnit.SECONDS;
     private int queueCapacity = 1024;
+    // sizeFor 记录的负载类型与阻塞比例，null 表示未使用
+    private Workload workload;
+    private double blockingRatio;
+    // 工作队列实现
+    private QueueType queueType = QueueType.LINKED;
+    // worker 内部提交进入本地队列，空闲 worker 互相窃取
+    private boolean workStealing;
 
     private ThreadFactory threadFactory;
+    // worker 使用虚拟线程，maximumPoolSize 即并发上限
+    private boolean virtualThreads;
     private RejectedExecutionHandler rejectedHandler = new ThreadPoolExecutor.AbortPolicy();
     private AtomicLong rejectedNum = new AtomicLong(0);
 
+    // submittedTaskCount 计数器实现
+    private TaskCounterType submittedCounterType = TaskCounterType.ATOMIC;
+
+    // 记录排队、执行耗时直方图，每个任务多两次时间戳登记和直方图更新，默认关闭
+    private boolean latencyTracking = false;
+
+    // 记录接收、完成次数的滑动窗口，每个任务多两次计数器写入，默认关闭
+    private boolean throughputTracking = false;
+
+    // 自适应调参，null 表示关闭
+    private AdaptiveSizingConfig adaptiveSizing;
+    private Consumer<PoolSizeDecision> adaptiveSizingListener;
+
+    // 准入控制的预估排队耗时预算，<= 0 表示关闭
+    private long admissionBudget;
+    private TimeUnit admissionBudgetUnit = TimeUnit.MILLISECONDS;
+
+    // 落盘溢出层，目录为 null 表示关闭
+    private Path spillDirectory;
+    private long spillMaxBytes;
+    private int spillSegmentBytes = 16 * 1024 * 1024;
+    private SpillTaskDecoder spillDecoder;
+
+    // buildScheduled 使用的时间轮精度与槽位数
+    private long schedulerTickNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private int schedulerTicksPerWheel = 512;
+
     // 重新入队时间
     private long retryOfferTimeout = 0;
     private TimeUnit retryOfferTimeoutUnit = TimeUnit.MILLISECONDS;
@@ -38,17 +85,22 @@ public class EagerThreadPoolBuilder {
     private boolean alertEnabled;
     // 微信报警webhook uri
     private String weComWebhookUrl = "";
+    // 自定义告警 sink，设置后优先于 weComWebhookUrl
+    private AlertSink alertSink;
     // 报警阈值
     private long thresholdPerMinute = 200;
     // 冷却时间
     private long cooldownSeconds = 60;
     // 窗口大小
     private int windowSeconds = 60;
-    // 桶大小
+    // 桶大小，计数桶已固定为 1 秒，仅为兼容保留
     private int bucketSeconds = 5;
     // 最大消息长度
     private int maxMessageChars = 1800;
 
+    // sizeFor 推导出的线程数上限，避免 blockingRatio 过大时创建过多线程
+    private static final int MAX_DERIVED_THREADS = 1024;
+
     private EagerThreadPoolBuilder() {}
 
     public static EagerThreadPoolBuilder newBuilder() { return new EagerThreadPoolBuilder(); }
@@ -83,11 +135,69 @@ public class EagerThreadPoolBuilder {
         return this;
     }
 
+    /**
+     * 按容器可用 CPU（{@link CpuQuota#effectiveCpus()}，cgroup 配额与 availableProcessors() 取小）推导线程数与队列容量：
+     * - CPU_BOUND：core = max = ceil(cpus)，queueCapacity = core * 256；blockingRatio 必须为 0
+     * - IO_BOUND：core = ceil(cpus * (1 + blockingRatio))，max = core * 2，queueCapacity = max * 32；
+     *   blockingRatio 为等待时间 / 计算时间，必须大于 0
+     * 推导结果立即写入 corePoolSize / maximumPoolSize / queueCapacity，之后调用对应方法可以覆盖；参数在 build 时校验
+     */
+    public EagerThreadPoolBuilder sizeFor(Workload workload, double blockingRatio) {
+        return sizeFor(workload, blockingRatio, CpuQuota.effectiveCpus());
+    }
+
+    /**
+     * 按指定的可用 CPU 数推导，见 {@link #sizeFor(Workload, double)}
+     */
+    public EagerThreadPoolBuilder sizeFor(Workload workload, double blockingRatio, double cpus) {
+        this.workload = Objects.requireNonNull(workload, "workload");
+        this.blockingRatio = blockingRatio;
+        if (!isValidSizing(workload, blockingRatio) || !(cpus > 0)) {
+            // 非法组合留给 validate 报错
+            return this;
+        }
+        if (workload == Workload.CPU_BOUND) {
+            int threads = (int) Math.min(MAX_DERIVED_THREADS, Math.ceil(cpus));
+            this.corePoolSize = threads;
+            this.maximumPoolSize = threads;
+            this.queueCapacity = threads * 256;
+        } else {
+            int core = (int) Math.min(MAX_DERIVED_THREADS, Math.ceil(cpus * (1 + blockingRatio)));
+            this.corePoolSize = core;
+            this.maximumPoolSize = Math.min(MAX_DERIVED_THREADS, core * 2);
+            this.queueCapacity = this.maximumPoolSize * 32;
+        }
+        return this;
+    }
+
+    public EagerThreadPoolBuilder queueType(QueueType type) {
+        this.queueType = Objects.requireNonNull(type, "queueType");
+        return this;
+    }
+
+    /**
+     * 工作窃取模式：queueType 对应的队列只接收外部提交，worker 内部提交的任务进入各自的本地队列，
+     * 本地队列容量为 max(16, queueCapacity / maximumPoolSize)，满了回落到共享队列；适合任务内继续拆分提交子任务的场景
+     */
+    public EagerThreadPoolBuilder workStealing(boolean on) {
+        this.workStealing = on;
+        return this;
+    }
+
     public EagerThreadPoolBuilder threadFactory(ThreadFactory tf) {
         this.threadFactory = Objects.requireNonNull(tf, "threadFactory");
         return this;
     }
 
+    /**
+     * 虚拟线程模式：每个 worker 是一个虚拟线程，并发数仍以 maximumPoolSize 为上限，
+     * 超出后按 queueCapacity 排队，拒绝、计数与告警流程不变；需要 JDK 21+ 运行时
+     */
+    public EagerThreadPoolBuilder virtualThreads(boolean on) {
+        this.virtualThreads = on;
+        return this;
+    }
+
     public EagerThreadPoolBuilder rejectedHandler(RejectedExecutionHandler handler) {
         this.rejectedHandler = Objects.requireNonNull(handler, "rejectedHandler");
         return this;
@@ -102,6 +212,90 @@ public class EagerThreadPoolBuilder {
         return this;
     }
 
+    public EagerThreadPoolBuilder submittedCounterType(TaskCounterType type) {
+        this.submittedCounterType = Objects.requireNonNull(type, "submittedCounterType");
+        return this;
+    }
+
+    /**
+     * 记录接收、完成次数的 1 秒 / 1 分钟 / 1 小时滑动窗口，默认关闭；关闭时 getAcceptedCounter / getCompletedCounter 返回 null
+     */
+    public EagerThreadPoolBuilder throughputTracking(boolean on) {
+        this.throughputTracking = on;
+        return this;
+    }
+
+    /**
+     * 记录排队耗时与执行耗时直方图，默认关闭；开启后自适应调参按排队耗时 p99 判断，Prometheus 导出两个直方图
+     */
+    public EagerThreadPoolBuilder latencyTracking(boolean on) {
+        this.latencyTracking = on;
+        return this;
+    }
+
+    /**
+     * 开启自适应调参：按周期根据排队耗时、拒绝数、利用率在边界内调整 corePoolSize / maximumPoolSize，
+     * corePoolSize / maximumPoolSize 为初始值，需落在边界内
+     */
+    public EagerThreadPoolBuilder adaptiveSizing(AdaptiveSizingConfig config) {
+        this.adaptiveSizing = Objects.requireNonNull(config, "adaptiveSizing");
+        return this;
+    }
+
+    public EagerThreadPoolBuilder adaptiveSizing(int minCorePoolSize, int maxCorePoolSize,
+                                                 int minMaximumPoolSize, int maxMaximumPoolSize) {
+        return adaptiveSizing(AdaptiveSizingConfig.of(minCorePoolSize, maxCorePoolSize,
+                minMaximumPoolSize, maxMaximumPoolSize));
+    }
+
+    /**
+     * 每次调参决策的回调，在调度线程中执行，应尽快返回
+     */
+    public EagerThreadPoolBuilder adaptiveSizingListener(Consumer<PoolSizeDecision> listener) {
+        this.adaptiveSizingListener = Objects.requireNonNull(listener, "adaptiveSizingListener");
+        return this;
+    }
+
+    /**
+     * 准入控制：线程数已到上限时，按排队数 / 近期完成速率预估新任务的等待时间，超过 budget 直接走拒绝策略，
+     * 不入队、不做 retryOffer；对 execute / submit 生效
+     */
+    public EagerThreadPoolBuilder admissionControl(long budget, TimeUnit unit) {
+        this.admissionBudget = budget;
+        this.admissionBudgetUnit = Objects.requireNonNull(unit, "admissionBudgetUnit");
+        return this;
+    }
+
+    /**
+     * 落盘溢出：队列满、拒绝策略抛出异常且 retryOffer 失败时，把 {@link SpillableTask} 追加写入 directory 下的
+     * 内存映射段文件而不是拒绝，队列腾出空位后按 FIFO 重放；总占用不超过 maxDiskBytes
+     * build 时恢复目录中上次未执行完的落盘任务并开始重放
+     * 只对 execute 提交的任务生效，拒绝策略正常返回（如 CallerRunsPolicy）时不会落盘
+     */
+    public EagerThreadPoolBuilder overflowSpill(Path directory, long maxDiskBytes, SpillTaskDecoder decoder) {
+        this.spillDirectory = Objects.requireNonNull(directory, "spillDirectory");
+        this.spillMaxBytes = maxDiskBytes;
+        this.spillDecoder = Objects.requireNonNull(decoder, "spillDecoder");
+        return this;
+    }
+
+    /**
+     * 单个落盘段文件大小，默认 16MB，单条任务序列化后不能超过该大小
+     */
+    public EagerThreadPoolBuilder overflowSpillSegmentBytes(int bytes) {
+        this.spillSegmentBytes = bytes;
+        return this;
+    }
+
+    /**
+     * {@link #buildScheduled()} 的时间轮参数：tick 为到期精度，默认 10ms；槽位数默认 512
+     */
+    public EagerThreadPoolBuilder schedulerTick(long tick, TimeUnit unit, int ticksPerWheel) {
+        this.schedulerTickNanos = Objects.requireNonNull(unit, "schedulerTickUnit").toNanos(tick);
+        this.schedulerTicksPerWheel = ticksPerWheel;
+        return this;
+    }
+
     public EagerThreadPoolBuilder retryOfferTimeout(long timeout, TimeUnit unit) {
         this.retryOfferTimeout = timeout;
         this.retryOfferTimeoutUnit = Objects.requireNonNull(unit, "retryOfferTimeoutUnit");
@@ -128,6 +322,14 @@ public class EagerThreadPoolBuilder {
         return this;
     }
 
+    /**
+     * 自定义告警发送目标（钉钉、邮件、内部告警平台等），设置后不再使用 weComWebhookUrl
+     */
+    public EagerThreadPoolBuilder alertSink(AlertSink sink) {
+        this.alertSink = sink;
+        return this;
+    }
+
     public EagerThreadPoolBuilder thresholdPerMinute(long n) {
         this.thresholdPerMinute = n;
         return this;
@@ -143,6 +345,10 @@ public class EagerThreadPoolBuilder {
         return this;
     }
 
+    /**
+     * @deprecated 计数桶已固定为 1 秒，该参数被忽略
+     */
+    @Deprecated
     public EagerThreadPoolBuilder bucketSeconds(int s) {
         this.bucketSeconds = s;
         return this;
@@ -157,11 +363,19 @@ public class EagerThreadPoolBuilder {
         validate();
 
         String normalizedPoolName = poolName.isBlank() ? "eager" : poolName;
-        WorkQueue<Runnable> queue = new WorkQueue<>(queueCapacity);
+        EagerWorkQueue queue = queueType.create(queueCapacity);
+        if (workStealing) {
+            queue = new WorkStealingWorkQueue(queue, Math.max(16, queueCapacity / maximumPoolSize));
+        }
 
-        ThreadFactory resolvedThreadFactory = threadFactory != null
-                ? threadFactory
-                : namedThreadFactory(normalizedPoolName);
+        ThreadFactory resolvedThreadFactory;
+        if (virtualThreads) {
+            resolvedThreadFactory = VirtualThreads.factory(normalizedPoolName + "-vworker-");
+        } else if (threadFactory != null) {
+            resolvedThreadFactory = threadFactory;
+        } else {
+            resolvedThreadFactory = namedThreadFactory(normalizedPoolName);
+        }
 
         RejectAlertConfig cfg = new RejectAlertConfig(
                 alertEnabled,
@@ -170,12 +384,14 @@ public class EagerThreadPoolBuilder {
                 TimeUnit.SECONDS.toMillis(cooldownSeconds),
                 windowSeconds,
                 bucketSeconds,
-                maxMessageChars
+                maxMessageChars,
+                alertSink
         );
 
         RejectAlertState state = new RejectAlertState(
                 alertEnabled,
-                new RollingWindowCounter(cfg.windowSeconds(), cfg.bucketSeconds())
+                new RollingWindowCounter(cfg.windowSeconds()),
+                cfg
         );
 
         EagerThreadPoolExecutor executor = new EagerThreadPoolExecutor(
@@ -191,17 +407,54 @@ public class EagerThreadPoolBuilder {
                 retryOfferTimeout,
                 retryOfferTimeoutUnit,
                 cfg,
-                state
+                state,
+                submittedCounterType.create(),
+                latencyTracking,
+                throughputTracking
         );
 
         executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
         if (prestartAllCoreThreads) {
             executor.prestartAllCoreThreads();
         }
+        if (admissionBudget > 0) {
+            executor.setAdmissionController(new AdmissionController(admissionBudget, admissionBudgetUnit));
+        }
+        if (adaptiveSizing != null) {
+            AdaptivePoolSizeController controller =
+                    new AdaptivePoolSizeController(executor, adaptiveSizing, adaptiveSizingListener);
+            executor.setAdaptiveController(controller);
+            controller.start();
+        }
+        if (spillDirectory != null) {
+            SpillSegmentStore store = SpillSegmentStore.open(
+                    spillDirectory, (int) Math.min(spillSegmentBytes, spillMaxBytes), spillMaxBytes);
+            executor.setOverflowSpill(new OverflowSpill(store, spillDecoder));
+            executor.replaySpilled();
+        }
+        EagerThreadPoolRegistry.getInstance().register(executor);
         return executor;
     }
 
+    /**
+     * 构建定时调度器：按当前配置构建线程池执行到期任务，定时由独立的哈希时间轮完成
+     */
+    public EagerScheduledExecutor buildScheduled() {
+        if (schedulerTickNanos <= 0) {
+            throw new IllegalArgumentException("schedulerTick must be > 0");
+        }
+        if (schedulerTicksPerWheel <= 0) {
+            throw new IllegalArgumentException("schedulerTicksPerWheel must be > 0");
+        }
+        return new EagerScheduledExecutor(build(), schedulerTickNanos, TimeUnit.NANOSECONDS, schedulerTicksPerWheel);
+    }
+
     private void validate() {
+        if (workload != null && !isValidSizing(workload, blockingRatio)) {
+            throw new IllegalArgumentException(workload == Workload.CPU_BOUND
+                    ? "sizeFor(CPU_BOUND) requires blockingRatio == 0"
+                    : "sizeFor(IO_BOUND) requires a finite blockingRatio > 0");
+        }
         if (corePoolSize <= 0) {
             throw new IllegalArgumentException("corePoolSize must be > 0");
         }
@@ -217,9 +470,44 @@ public class EagerThreadPoolBuilder {
         if (retryOfferTimeout < 0) {
             throw new IllegalArgumentException("retryOfferTimeout must be >= 0");
         }
-        if (alertEnabled && weComWebhookUrl.isBlank()) {
-            throw new IllegalArgumentException("weComWebhookUrl must not be blank when alertEnabled=true");
+        if (admissionBudget < 0) {
+            throw new IllegalArgumentException("admissionControl budget must be >= 0");
+        }
+        if (spillDirectory != null && spillMaxBytes <= 0) {
+            throw new IllegalArgumentException("overflowSpill maxDiskBytes must be > 0");
+        }
+        if (spillDirectory != null && spillSegmentBytes <= 0) {
+            throw new IllegalArgumentException("overflowSpillSegmentBytes must be > 0");
+        }
+        if (workStealing && queueType == QueueType.PRIORITY) {
+            throw new IllegalArgumentException("workStealing does not support queueType=PRIORITY");
+        }
+        if (virtualThreads && threadFactory != null) {
+            throw new IllegalArgumentException("threadFactory must not be set when virtualThreads=true");
+        }
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException(
+                    "virtualThreads=true requires JDK 21+, current runtime is " + Runtime.version());
+        }
+        if (adaptiveSizing != null) {
+            if (corePoolSize < adaptiveSizing.minCorePoolSize() || corePoolSize > adaptiveSizing.maxCorePoolSize()) {
+                throw new IllegalArgumentException("corePoolSize must be within adaptiveSizing core bounds");
+            }
+            if (maximumPoolSize < adaptiveSizing.minMaximumPoolSize()
+                    || maximumPoolSize > adaptiveSizing.maxMaximumPoolSize()) {
+                throw new IllegalArgumentException("maximumPoolSize must be within adaptiveSizing maximumPoolSize bounds");
+            }
+        }
+        if (alertEnabled && weComWebhookUrl.isBlank() && alertSink == null) {
+            throw new IllegalArgumentException("weComWebhookUrl or alertSink must be set when alertEnabled=true");
+        }
+    }
+
+    private static boolean isValidSizing(Workload workload, double blockingRatio) {
+        if (workload == Workload.CPU_BOUND) {
+            return blockingRatio == 0;
         }
+        return blockingRatio > 0 && !Double.isInfinite(blockingRatio);
     }
 
     private static ThreadFactory namedThreadFactory(String poolName) {
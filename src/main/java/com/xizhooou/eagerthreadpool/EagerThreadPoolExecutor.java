@@ -1,18 +1,38 @@
 package com.xizhooou.eagerthreadpool;
 
+import com.xizhooou.eagerthreadpool.adaptive.AdaptivePoolSizeController;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertConfig;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertState;
+import com.xizhooou.eagerthreadpool.alert.RollingWindowCounter;
+import com.xizhooou.eagerthreadpool.metrics.CoarseClock;
+import com.xizhooou.eagerthreadpool.metrics.LatencyHistogram;
+import com.xizhooou.eagerthreadpool.registry.EagerThreadPoolRegistry;
 import com.xizhooou.eagerthreadpool.reject.RejectedProxyUtil;
+import com.xizhooou.eagerthreadpool.spill.OverflowSpill;
 import lombok.Getter;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 快速消费线程池
@@ -21,26 +41,62 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
 
-    // 用于区分 拒绝策略内部入队和execute入队
-    static final ThreadLocal<Boolean> IN_EXECUTE_CONTEXT = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final int SPILL_REPLAY_BATCH = 4;
 
-    private final AtomicInteger submittedTaskCount = new AtomicInteger(0);
+    private final TaskCounter submittedTaskCount;
+    // 存活 worker 数，由包装后的 ThreadFactory 维护，读取不需要 mainLock
+    private final AtomicInteger liveWorkerCount = new AtomicInteger(0);
     private final AtomicLong rejectedNum;
 
     @Getter
     private final String poolName;
 
-    private final long retryOfferTimeout;
-    private final TimeUnit retryOfferTimeoutUnit;
+    // 可通过 reconfigure 在运行时调整
+    private volatile long retryOfferTimeoutNanos;
+    // 串行化 reconfigure
+    private final Object reconfigureLock = new Object();
+
+    private final EagerWorkQueue workQueue;
 
     private final RejectAlertConfig alertConfig;
     private final RejectAlertState alertState;
 
+    // 排队耗时（提交到开始执行）与执行耗时，未开启时为 null
+    private final LatencyHistogram queueWaitHistogram;
+    private final LatencyHistogram runTimeHistogram;
+    // 提交时间按任务对象记录，开始执行时间按 worker 线程记录
+    private final IdentityStampTable submitStamps;
+    private final IdentityStampTable runStamps;
+
+    // 自适应调参，未开启时为 null
+    private volatile AdaptivePoolSizeController adaptiveController;
+    // 按预估排队耗时准入，未开启时为 null
+    private volatile AdmissionController admissionController;
+    // 内存队列满且 retryOffer 失败时的落盘溢出层，未开启时为 null
+    private volatile OverflowSpill overflowSpill;
+    // 过期未执行而被跳过的带截止时间任务数，与拒绝数分开统计
+    private final LongAdder deadlineSkippedNum = new LongAdder();
+
+    // 接收、完成任务数的滑动窗口，用于观察吞吐
+    private final RollingWindowCounter acceptedCounter;
+    private final RollingWindowCounter completedCounter;
+    // 正在执行与已执行结束的任务数，代替需要 mainLock 的 getActiveCount/getCompletedTaskCount
+    private final LongAdder activeTaskNum = new LongAdder();
+    private final LongAdder completedTaskNum = new LongAdder();
+
+    // executeOrdered 的按 key 邮箱，空闲即回收
+    private final ConcurrentHashMap<Object, OrderedMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Function<Object, OrderedMailbox> newMailbox = key -> new OrderedMailbox(key, this);
+
+    // 正在执行拒绝策略的线程数，大于 0 时 execute 才需要查看当前线程的拒绝栈
+    private final AtomicInteger rejectingThreads = new AtomicInteger();
+    private final ThreadLocal<RejectionFrame> rejecting = new ThreadLocal<>();
+
     public EagerThreadPoolExecutor(int corePoolSize,
                                    int maximumPoolSize,
                                    long keepAliveTime,
                                    TimeUnit unit,
-                                   WorkQueue<Runnable> workQueue,
+                                   EagerWorkQueue workQueue,
                                    ThreadFactory threadFactory,
                                    RejectedExecutionHandler handler,
                                    AtomicLong rejectedNum,
@@ -49,6 +105,40 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
                                    TimeUnit retryOfferTimeoutUnit,
                                    RejectAlertConfig alertConfig,
                                    RejectAlertState alertState) {
+        this(corePoolSize,
+                maximumPoolSize,
+                keepAliveTime,
+                unit,
+                workQueue,
+                threadFactory,
+                handler,
+                rejectedNum,
+                poolName,
+                retryOfferTimeout,
+                retryOfferTimeoutUnit,
+                alertConfig,
+                alertState,
+                null,
+                false,
+                false);
+    }
+
+    public EagerThreadPoolExecutor(int corePoolSize,
+                                   int maximumPoolSize,
+                                   long keepAliveTime,
+                                   TimeUnit unit,
+                                   EagerWorkQueue workQueue,
+                                   ThreadFactory threadFactory,
+                                   RejectedExecutionHandler handler,
+                                   AtomicLong rejectedNum,
+                                   String poolName,
+                                   long retryOfferTimeout,
+                                   TimeUnit retryOfferTimeoutUnit,
+                                   RejectAlertConfig alertConfig,
+                                   RejectAlertState alertState,
+                                   TaskCounter submittedTaskCount,
+                                   boolean latencyTracking,
+                                   boolean throughputTracking) {
         super(corePoolSize,
                 maximumPoolSize,
                 keepAliveTime,
@@ -59,11 +149,34 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
 
         this.poolName = Optional.ofNullable(poolName).filter(v -> !v.isBlank()).orElse("eagerThreadPool");
         this.rejectedNum = (rejectedNum != null) ? rejectedNum : new AtomicLong(0);
-        this.retryOfferTimeout = Math.max(0, retryOfferTimeout);
-        this.retryOfferTimeoutUnit = (retryOfferTimeoutUnit == null) ? TimeUnit.MILLISECONDS : retryOfferTimeoutUnit;
+        this.retryOfferTimeoutNanos = ((retryOfferTimeoutUnit == null) ? TimeUnit.MILLISECONDS : retryOfferTimeoutUnit)
+                .toNanos(Math.max(0, retryOfferTimeout));
         this.alertConfig = alertConfig;
         this.alertState = alertState;
+        this.submittedTaskCount = (submittedTaskCount != null) ? submittedTaskCount : new AtomicTaskCounter();
+        this.workQueue = workQueue;
+        if (latencyTracking) {
+            this.queueWaitHistogram = new LatencyHistogram();
+            this.runTimeHistogram = new LatencyHistogram();
+            this.submitStamps = new IdentityStampTable(workQueue.remainingCapacity() + maximumPoolSize);
+            this.runStamps = new IdentityStampTable(maximumPoolSize);
+        } else {
+            this.queueWaitHistogram = null;
+            this.runTimeHistogram = null;
+            this.submitStamps = null;
+            this.runStamps = null;
+        }
+        if (throughputTracking) {
+            this.acceptedCounter = new RollingWindowCounter();
+            this.completedCounter = new RollingWindowCounter();
+            CoarseClock.start();
+        } else {
+            this.acceptedCounter = null;
+            this.completedCounter = null;
+        }
 
+        // 包装线程工厂以便无锁地统计 worker 数
+        setThreadFactory(threadFactory);
         workQueue.setExecutor(this);
 
         setRejectedExecutionHandler(
@@ -75,7 +188,7 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
                                    int maximumPoolSize,
                                    long keepAliveTime,
                                    TimeUnit unit,
-                                   WorkQueue<Runnable> workQueue,
+                                   EagerWorkQueue workQueue,
                                    ThreadFactory threadFactory,
                                    RejectedExecutionHandler handler,
                                    AtomicLong rejectedNum) {
@@ -102,6 +215,19 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
         return submittedTaskCount.get();
     }
 
+    // eager 入队判断需要精确值
+    int getExactSubmittedTaskCount() {
+        return submittedTaskCount.getExact();
+    }
+
+    /**
+     * 存活 worker 数的无锁读取
+     * 与 {@link #getPoolSize()} 不同，不会竞争 mainLock，供 eager 入队判断使用
+     */
+    public int getLiveWorkerCount() {
+        return liveWorkerCount.get();
+    }
+
     public long getRejectedNum() {
         return rejectedNum.get();
     }
@@ -116,10 +242,6 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
         return alertState != null && alertState.isEnabled();
     }
 
-    static boolean isInExecuteContext() {
-        return Boolean.TRUE.equals(IN_EXECUTE_CONTEXT.get());
-    }
-
     // 最近60秒拒绝的总数
     public long getRejectedInLastWindow() {
         if (alertState == null) {
@@ -128,16 +250,316 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
         return alertState.getRollingCounter().sumLastWindow();
     }
 
+    public boolean isLatencyTracking() {
+        return queueWaitHistogram != null;
+    }
+
+    /**
+     * 提交到开始执行的耗时分布，未开启 latencyTracking 时返回 null
+     */
+    public LatencyHistogram.Snapshot getQueueWaitSnapshot() {
+        return queueWaitHistogram == null ? null : queueWaitHistogram.snapshot();
+    }
+
+    /**
+     * 任务执行耗时分布，未开启 latencyTracking 时返回 null
+     */
+    public LatencyHistogram.Snapshot getRunTimeSnapshot() {
+        return runTimeHistogram == null ? null : runTimeHistogram.snapshot();
+    }
+
+    /**
+     * 排队耗时直方图本身，导出时在实时桶上读取、不拷贝；未开启 latencyTracking 时返回 null
+     */
+    public LatencyHistogram getQueueWaitHistogram() {
+        return queueWaitHistogram;
+    }
+
+    /**
+     * 执行耗时直方图本身；未开启 latencyTracking 时返回 null
+     */
+    public LatencyHistogram getRunTimeHistogram() {
+        return runTimeHistogram;
+    }
+
+    /**
+     * 自适应调参控制器，可读取最近的调参决策；未开启时返回 null
+     */
+    public AdaptivePoolSizeController getAdaptiveController() {
+        return adaptiveController;
+    }
+
+    void setAdaptiveController(AdaptivePoolSizeController controller) {
+        this.adaptiveController = controller;
+    }
+
+    void setAdmissionController(AdmissionController controller) {
+        this.admissionController = controller;
+    }
+
+    void setOverflowSpill(OverflowSpill spill) {
+        this.overflowSpill = spill;
+    }
+
+    /**
+     * 落盘溢出层，可读取落盘、重放统计；未开启时返回 null
+     */
+    public OverflowSpill getOverflowSpill() {
+        return overflowSpill;
+    }
+
+    /**
+     * 因队列满而落盘的任务总数，未开启落盘时为 0
+     */
+    public long getSpilledNum() {
+        OverflowSpill spill = overflowSpill;
+        return spill == null ? 0 : spill.getSpilledNum();
+    }
+
+    /**
+     * 磁盘上等待重放的任务数，未开启落盘时为 0
+     */
+    public long getSpillPendingNum() {
+        OverflowSpill spill = overflowSpill;
+        return spill == null ? 0 : spill.getPendingNum();
+    }
+
+    /**
+     * 把落盘任务重放回工作队列，直到队列满或没有落盘任务；线程池关闭后不再重放，剩余任务留在磁盘上
+     * worker 每执行完一个任务会自动重放，通常只需在启动恢复后调用一次
+     */
+    public int replaySpilled() {
+        return replaySpilled(Integer.MAX_VALUE);
+    }
+
+    private int replaySpilled(int maxTasks) {
+        OverflowSpill spill = overflowSpill;
+        if (spill == null || !spill.hasPending() || isShutdown()) {
+            return 0;
+        }
+        // 落盘时已撤销计数，重放入队成功时补回
+        return spill.replay(this::requeue, maxTasks);
+    }
+
+    /**
+     * 把暂时离开线程池的任务（落盘、延迟重投）放回工作队列，不做 eager 判断
+     * 调用方此前已撤销该任务的 submittedTaskCount，入队成功后在这里补 +1；线程池已关闭或队列满时返回 false
+     */
+    public boolean requeue(Runnable task) {
+        if (isShutdown()) {
+            return false;
+        }
+        stampSubmit(task);
+        // 先计数再入队：入队后 worker 可能立即执行完并 -1，计数在 0 处截断，后补的 +1 会残留
+        adjustSubmittedTaskCount(1);
+        if (!workQueue.offerDirect(task)) {
+            adjustSubmittedTaskCount(-1);
+            return false;
+        }
+        // 没有存活 worker 时（如启动恢复、核心线程已回收）补一个，否则任务会一直留在队列里
+        if (liveWorkerCount.get() == 0) {
+            prestartCoreThread();
+        }
+        return true;
+    }
+
+    /**
+     * 因预估排队耗时超出预算被直接拒绝的任务数，包含在 {@link #getRejectedNum()} 中
+     */
+    public long getAdmissionRejectedNum() {
+        AdmissionController admission = admissionController;
+        return admission == null ? 0 : admission.getShedCount();
+    }
+
+    /**
+     * 新任务按当前排队数与近期完成速率预估的等待时间，纳秒；未开启准入控制时为 -1
+     */
+    public long getPredictedQueueWaitNanos() {
+        AdmissionController admission = admissionController;
+        return admission == null ? -1 : admission.predictWaitNanos(estimateQueued());
+    }
+
+    /**
+     * 被线程池接收（未被拒绝）的任务数滑动窗口，未开启 throughputTracking 时返回 null
+     */
+    public RollingWindowCounter getAcceptedCounter() {
+        return acceptedCounter;
+    }
+
+    private void countAccepted(int delta) {
+        if (acceptedCounter != null) {
+            acceptedCounter.add(delta);
+        }
+    }
+
+    /**
+     * 执行结束（含异常结束）的任务数滑动窗口，未开启 throughputTracking 时返回 null
+     */
+    public RollingWindowCounter getCompletedCounter() {
+        return completedCounter;
+    }
+
+    /**
+     * 正在执行的任务数的无锁读取，与 {@link #getActiveCount()} 含义相同但不竞争 mainLock、不遍历 worker
+     */
+    public int getActiveTaskNum() {
+        return (int) Math.max(0, activeTaskNum.sum());
+    }
+
+    /**
+     * 执行结束（含异常结束）的任务总数的无锁读取，对应 {@link #getCompletedTaskCount()}
+     */
+    public long getCompletedTaskNum() {
+        return completedTaskNum.sum();
+    }
+
+    /**
+     * 带截止时间的任务因过期被跳过的次数，不计入 {@link #getRejectedNum()}
+     */
+    public long getDeadlineSkippedNum() {
+        return deadlineSkippedNum.sum();
+    }
+
+    void onDeadlineSkipped() {
+        deadlineSkippedNum.increment();
+    }
+
+    /**
+     * 工作队列当前容量
+     */
+    public int getQueueCapacity() {
+        return workQueue.capacity();
+    }
+
+    public long getRetryOfferTimeout(TimeUnit unit) {
+        return unit.convert(retryOfferTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 当前生效的告警配置，未配置告警时返回 null
+     */
+    public RejectAlertConfig getAlertConfig() {
+        RejectAlertConfig live = (alertState != null) ? alertState.getConfig() : null;
+        return (live != null) ? live : alertConfig;
+    }
+
+    /**
+     * 运行时调整参数，不需要重建线程池
+     * - 先校验全部参数，任何一项非法都不做修改；队列容量最先调整，队列实现不支持时同样不做修改
+     * - 核心/最大线程数按不违反 core <= max 的顺序设置；开启 adaptiveSizing 时由控制器管理，不允许手动修改
+     * - 队列缩容不丢弃已排队的任务，只是在出队到新容量以下前新任务会走扩容或拒绝流程
+     * - 告警阈值、冷却时间在下一次拒绝时生效
+     *
+     * @throws IllegalArgumentException      参数非法
+     * @throws UnsupportedOperationException 队列实现不支持调整容量
+     */
+    public void reconfigure(PoolReconfiguration update) {
+        Objects.requireNonNull(update, "update");
+        synchronized (reconfigureLock) {
+            int core = update.corePoolSize() != null ? update.corePoolSize() : getCorePoolSize();
+            int max = update.maximumPoolSize() != null ? update.maximumPoolSize() : getMaximumPoolSize();
+            boolean resizePool = update.corePoolSize() != null || update.maximumPoolSize() != null;
+            if (resizePool && adaptiveController != null) {
+                throw new IllegalArgumentException("pool size is managed by adaptiveSizing");
+            }
+            if (core <= 0) {
+                throw new IllegalArgumentException("corePoolSize must be > 0");
+            }
+            if (max < core) {
+                throw new IllegalArgumentException("maximumPoolSize must be >= corePoolSize");
+            }
+            if (update.queueCapacity() != null && update.queueCapacity() <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be > 0");
+            }
+            if (update.retryOfferTimeoutNanos() != null && update.retryOfferTimeoutNanos() < 0) {
+                throw new IllegalArgumentException("retryOfferTimeout must be >= 0");
+            }
+            RejectAlertConfig currentAlert = getAlertConfig();
+            if ((update.alertEnabled() != null || update.hasAlertThresholds())
+                    && (currentAlert == null || alertState == null)) {
+                throw new IllegalArgumentException("alert is not configured for this pool");
+            }
+            if (Boolean.TRUE.equals(update.alertEnabled()) && !currentAlert.hasSink()) {
+                throw new IllegalArgumentException("weComWebhookUrl or alertSink must be set when alertEnabled=true");
+            }
+            if (update.thresholdPerMinute() != null && update.thresholdPerMinute() <= 0) {
+                throw new IllegalArgumentException("thresholdPerMinute must be > 0");
+            }
+            if (update.cooldownMillis() != null && update.cooldownMillis() < 0) {
+                throw new IllegalArgumentException("cooldownSeconds must be >= 0");
+            }
+            if (update.maxMessageChars() != null && update.maxMessageChars() <= 0) {
+                throw new IllegalArgumentException("maxMessageChars must be > 0");
+            }
+
+            if (update.queueCapacity() != null) {
+                workQueue.setCapacity(update.queueCapacity());
+            }
+            if (resizePool) {
+                if (max >= getCorePoolSize()) {
+                    setMaximumPoolSize(max);
+                    setCorePoolSize(core);
+                } else {
+                    setCorePoolSize(core);
+                    setMaximumPoolSize(max);
+                }
+            }
+            if (update.retryOfferTimeoutNanos() != null) {
+                retryOfferTimeoutNanos = update.retryOfferTimeoutNanos();
+            }
+            if (update.hasAlertThresholds()) {
+                alertState.setConfig(currentAlert.withThresholds(
+                        update.thresholdPerMinute() != null ? update.thresholdPerMinute() : currentAlert.thresholdPerMinute(),
+                        update.cooldownMillis() != null ? update.cooldownMillis() : currentAlert.cooldownMillis(),
+                        update.maxMessageChars() != null ? update.maxMessageChars() : currentAlert.maxMessageChars()));
+            }
+            if (update.alertEnabled() != null) {
+                alertState.setEnabled(update.alertEnabled());
+            }
+        }
+    }
+
+    /**
+     * eager 判断：没有空闲 worker 且线程数未达上限时返回 true，队列应拒绝入队让线程池新建 worker
+     */
+    boolean shouldCreateWorker() {
+        int poolSize = getLiveWorkerCount();
+        if (poolSize > getExactSubmittedTaskCount()) {
+            return false;
+        }
+        return poolSize < getMaximumPoolSize();
+    }
+
     /**
      * 调整 submittedTaskCount
      */
     public void adjustSubmittedTaskCount(int delta) {
-        if (delta == 0) return;
-        for (;;) {
-            int cur = submittedTaskCount.get();
-            int next = Math.max(cur + delta, 0);
-            if (submittedTaskCount.compareAndSet(cur, next)) return;
+        submittedTaskCount.add(delta);
+    }
+
+    @Override
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new NullPointerException();
+        }
+        super.setThreadFactory(threadFactory instanceof WorkerTrackingThreadFactory
+                ? threadFactory
+                : new WorkerTrackingThreadFactory(threadFactory));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        if (queueWaitHistogram != null) {
+            long now = System.nanoTime();
+            long submittedAt = submitStamps.take(r);
+            if (submittedAt != IdentityStampTable.NO_STAMP) {
+                queueWaitHistogram.record(now - submittedAt);
+            }
+            runStamps.put(t, now);
         }
+        super.beforeExecute(t, r);
+        // 放在最后：beforeExecute 抛出异常时不会调用 afterExecute
+        activeTaskNum.increment();
     }
 
     @Override
@@ -145,25 +567,392 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
         try {
             super.afterExecute(r, t);
         } finally {
+            if (runTimeHistogram != null) {
+                long startedAt = runStamps.take(Thread.currentThread());
+                if (startedAt != IdentityStampTable.NO_STAMP) {
+                    runTimeHistogram.record(System.nanoTime() - startedAt);
+                }
+            }
+            activeTaskNum.decrement();
+            completedTaskNum.increment();
+            if (completedCounter != null) {
+                completedCounter.increment();
+            }
+            AdmissionController admission = admissionController;
+            if (admission != null) {
+                admission.onCompleted();
+            }
             adjustSubmittedTaskCount(-1);
+            // 每完成一个任务至多腾出一个空位，少量重放即可跟上消费
+            replaySpilled(SPILL_REPLAY_BATCH);
         }
     }
 
+    @Override
+    protected void terminated() {
+        try {
+            super.terminated();
+        } finally {
+            AdaptivePoolSizeController controller = adaptiveController;
+            if (controller != null) {
+                controller.stop();
+            }
+            OverflowSpill spill = overflowSpill;
+            if (spill != null) {
+                spill.close();
+            }
+            EagerThreadPoolRegistry.getInstance().unregister(this);
+        }
+    }
+
+    /**
+     * submit 包装任务时保留 {@link PrioritizedRunnable} 的优先级
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        if (runnable instanceof PrioritizedRunnable p) {
+            return new PrioritizedFutureTask<>(p.getPriority(), runnable, value);
+        }
+        return super.newTaskFor(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        if (callable instanceof PrioritizedRunnable p) {
+            return new PrioritizedFutureTask<>(p.getPriority(), callable);
+        }
+        return super.newTaskFor(callable);
+    }
+
     @Override
     public void execute(Runnable command) {
-        IN_EXECUTE_CONTEXT.set(Boolean.TRUE);
         adjustSubmittedTaskCount(1);
+        // 先计为接收，被拒绝时由拒绝策略装饰器撤销
+        countAccepted(1);
+        AdmissionController admission = admissionController;
+        if (admission != null && command != null && !admission.admit(estimateQueued())) {
+            rejectImmediately(command);
+            return;
+        }
+        stampSubmit(command);
+        RejectionFrame frame = rejectingThreads.get() > 0 ? rejecting.get() : null;
+        executeReserved(command);
+        if (frame != null && frame.task == command && !frame.nestedRejected) {
+            // 拒绝策略重新提交的任务被接收，不再当作丢弃
+            frame.accepted = true;
+        }
+    }
+
+    /**
+     * 带截止时间提交：worker 取出时已过 deadline 则跳过不执行，计入 {@link #getDeadlineSkippedNum()}；
+     * 提交时就已过期的任务不入队，直接跳过；执行抛出的异常与 execute(Runnable) 一样交给 afterExecute 和 UncaughtExceptionHandler
+     */
+    public void execute(Runnable command, Instant deadline) {
+        Objects.requireNonNull(command, "command");
+        Objects.requireNonNull(deadline, "deadline");
+        executeWithDeadline(new DeadlineFutureTask<>(command, DeadlineFutureTask.toDeadlineNanos(deadline), this));
+    }
+
+    /**
+     * 带截止时间提交，过期跳过的任务以 {@link DeadlineExceededException} 异常完成
+     */
+    public <T> Future<T> submit(Callable<T> task, Instant deadline) {
+        Objects.requireNonNull(task, "task");
+        Objects.requireNonNull(deadline, "deadline");
+        return executeWithDeadline(new DeadlineFutureTask<>(task, DeadlineFutureTask.toDeadlineNanos(deadline), this));
+    }
+
+    /**
+     * 以提交时刻起 ttl 为截止时间，见 {@link #submit(Callable, Instant)}
+     * 注意无返回值的 lambda 会匹配到 {@code submit(Runnable, T result)}，Runnable 请使用 {@link #execute(Runnable, Instant)}
+     */
+    public <T> Future<T> submit(Callable<T> task, Duration ttl) {
+        Objects.requireNonNull(task, "task");
+        Objects.requireNonNull(ttl, "ttl");
+        return executeWithDeadline(new DeadlineFutureTask<>(task, DeadlineFutureTask.toDeadlineNanos(ttl), this));
+    }
 
+    /**
+     * 低分配的异步提交：返回的 future 即任务节点，入队、eager 扩容与拒绝计数都与 execute 相同
+     * 被拒绝时不抛出异常，而是以 RejectedExecutionException 异常完成；依赖阶段默认在完成任务的线程上执行
+     */
+    public <T> CompletableFuture<T> submitAsync(Supplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier");
+        AsyncTask<T> task = new AsyncTask<>(supplier);
+        try {
+            execute(task);
+        } catch (RejectedExecutionException e) {
+            task.completeExceptionally(e);
+        }
+        return task;
+    }
+
+    /**
+     * 按 key 串行执行：同一 key 的任务按提交顺序执行、不会并发，不同 key 之间在线程池内并行
+     * - 每个 key 一个无锁邮箱，邮箱有任务时作为一个任务提交给线程池，eager 扩容、拒绝计数与告警都与 execute 相同；
+     *   submittedTaskCount 与拒绝数按邮箱的调度计，而不是按单个任务
+     * - 邮箱空闲后立即回收，不为冷门 key 常驻内存；热点 key 每连续执行 64 个任务让出一次 worker
+     * - 任务抛出的异常交给 worker 线程的 UncaughtExceptionHandler，不影响同 key 的后续任务
+     * - 邮箱调度被拒绝时只拒绝调用方自己的任务：策略抛出异常则原样抛给调用方，策略静默丢弃则丢弃该任务；
+     *   同 key 其他线程已登记的任务重新入队，队列仍满时丢弃并逐个计入拒绝数
+     * - 邮箱被 DiscardOldestPolicy 挤出队列时丢弃该 key 已登记的全部任务，最早的一个之外逐个计入拒绝数
+     */
+    public void executeOrdered(Object key, Runnable task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        for (;;) {
+            OrderedMailbox mailbox = mailboxes.get(key);
+            if (mailbox == null) {
+                mailbox = mailboxes.computeIfAbsent(key, newMailbox);
+            }
+            int r = mailbox.enqueue(task);
+            if (r < 0) {
+                // 邮箱刚被回收，消费方可能还没来得及从 map 中移除
+                mailboxes.remove(key, mailbox);
+                continue;
+            }
+            if (r > 0) {
+                mailbox.markDispatched(task);
+                try {
+                    execute(mailbox);
+                } catch (RejectedExecutionException e) {
+                    mailbox.drop(e);
+                    throw e;
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * 当前有待执行任务的 key 数
+     */
+    public int getOrderedKeyNum() {
+        return mailboxes.size();
+    }
+
+    void removeMailbox(Object key, OrderedMailbox mailbox) {
+        mailboxes.remove(key, mailbox);
+    }
+
+    // 邮箱调度被拒绝时额外丢弃的任务，拒绝策略只为触发调度的那一个计数
+    void countDiscarded(int n) {
+        rejectedNum.addAndGet(n);
+    }
+
+    /**
+     * 由拒绝装饰器调用，执行拒绝策略；策略正常返回、且期间没有把该任务重新接收时视为静默丢弃，在这里收尾：
+     * - submitAsync 的 future 以 RejectedExecutionException 异常完成
+     * - executeOrdered 的邮箱丢弃已登记的任务并回收，否则该 key 之后的任务都不会再执行
+     * - {@link EagerScheduledExecutor} 的一次性任务以异常完成，周期任务跳过本次、按周期继续
+     * 策略在当前线程重新提交该任务并被接收（如 DiscardOldestPolicy）不算丢弃；CallerRuns 已执行过的由 drop 与 run 的竞争排除
+     */
+    public void runRejectionHandler(RejectedExecutionHandler handler, Runnable r) {
+        if (!(r instanceof DroppableTask task)) {
+            handler.rejectedExecution(r, this);
+            return;
+        }
+        RejectionFrame parent = rejecting.get();
+        RejectionFrame frame = new RejectionFrame(r);
+        rejecting.set(frame);
+        rejectingThreads.incrementAndGet();
+        try {
+            handler.rejectedExecution(r, this);
+        } finally {
+            rejectingThreads.decrementAndGet();
+            if (parent == null) {
+                rejecting.remove();
+            } else {
+                rejecting.set(parent);
+            }
+        }
+        if (parent != null && parent.task == r) {
+            // 外层策略重新提交的这次也被拒绝，结果以这一层为准
+            parent.nestedRejected = true;
+            parent.accepted = frame.accepted;
+        }
+        if (!frame.accepted) {
+            task.drop(new RejectedExecutionException("task rejected by " + poolName));
+        }
+    }
+
+    // 当前线程正在为 task 执行拒绝策略；accepted 表示策略期间 task 被重新接收
+    private static final class RejectionFrame {
+        private final Runnable task;
+        private boolean accepted;
+        private boolean nestedRejected;
+
+        private RejectionFrame(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * 任务被无参 poll() 从队列中取走、不会再执行（如 DiscardOldestPolicy 挤出最老的任务）时由工作队列调用，收尾方式同上；
+     * executeOrdered 的邮箱不再重新入队，该 key 已登记的任务全部丢弃
+     */
+    public void onEvicted(Runnable r) {
+        if (r instanceof OrderedMailbox mailbox) {
+            mailbox.evict();
+        } else if (r instanceof DroppableTask task) {
+            task.drop(new RejectedExecutionException("task evicted from " + poolName));
+        }
+    }
+
+    /**
+     * 批量提交：submittedTaskCount 一次性预留
+     * 先按提交前的空闲 worker 数把任务直接入队，再按可扩容的 worker 数走 execute 路径新建 worker，剩余任务直接入队；
+     * 队列放不下的任务回落到 execute 的拒绝流程，拒绝策略抛出异常的任务汇总到 {@link PartialRejectedExecutionException}
+     */
+    public void executeAll(Collection<? extends Runnable> tasks) {
+        Objects.requireNonNull(tasks, "tasks");
+        List<Runnable> batch = new ArrayList<>(tasks);
+        for (Runnable task : batch) {
+            Objects.requireNonNull(task, "task");
+        }
+        int n = batch.size();
+        if (n == 0) {
+            return;
+        }
+
+        int idle = Math.min(n, Math.max(0, getLiveWorkerCount() - getExactSubmittedTaskCount()));
+        adjustSubmittedTaskCount(n);
+        countAccepted(n);
+        if (submitStamps != null) {
+            long now = System.nanoTime();
+            for (Runnable task : batch) {
+                submitStamps.put(task, now);
+            }
+        }
+        int spawn = Math.min(n - idle, Math.max(0, getMaximumPoolSize() - getLiveWorkerCount()));
+
+        boolean[] queued = new boolean[n];
+        boolean[] rejected = null;
+        boolean anyQueued = false;
+        for (int i = 0; i < n; i++) {
+            Runnable task = batch.get(i);
+            boolean direct = i < idle || i >= idle + spawn;
+            if (direct && !isShutdown() && workQueue.offerDirect(task)) {
+                queued[i] = true;
+                anyQueued = true;
+                continue;
+            }
+            try {
+                executeReserved(task);
+            } catch (RejectedExecutionException e) {
+                if (rejected == null) {
+                    rejected = new boolean[n];
+                }
+                rejected[i] = true;
+            }
+        }
+
+        if (anyQueued) {
+            if (isShutdown()) {
+                // 与 ThreadPoolExecutor.execute 的复查一致：关闭后还留在队列里的任务撤回
+                for (int i = 0; i < n; i++) {
+                    if (queued[i] && workQueue.remove(batch.get(i))) {
+                        countAccepted(-1);
+                        if (rejected == null) {
+                            rejected = new boolean[n];
+                        }
+                        rejected[i] = true;
+                    }
+                }
+            } else if (getLiveWorkerCount() == 0) {
+                prestartCoreThread();
+            }
+        }
+
+        if (rejected != null) {
+            List<Runnable> rejectedTasks = new ArrayList<>();
+            List<Runnable> acceptedTasks = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                (rejected[i] ? rejectedTasks : acceptedTasks).add(batch.get(i));
+            }
+            throw new PartialRejectedExecutionException(rejectedTasks, acceptedTasks);
+        }
+    }
+
+    /**
+     * 批量提交 Callable，返回的 Future 与入参顺序一致
+     * 部分被拒绝时抛出 {@link PartialRejectedExecutionException}，其中的任务即对应的 Future，被拒绝的 Future 会被取消
+     */
+    public <T> List<Future<T>> submitAll(Collection<? extends Callable<T>> tasks) {
+        Objects.requireNonNull(tasks, "tasks");
+        List<Runnable> futures = new ArrayList<>(tasks.size());
+        List<Future<T>> result = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            RunnableFuture<T> future = newTaskFor(Objects.requireNonNull(task, "task"));
+            futures.add(future);
+            result.add(future);
+        }
+        try {
+            executeAll(futures);
+        } catch (PartialRejectedExecutionException e) {
+            for (Runnable r : e.getRejectedTasks()) {
+                ((Future<?>) r).cancel(false);
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    private <T> Future<T> executeWithDeadline(DeadlineFutureTask<T> task) {
+        if (task.isExpired()) {
+            task.skip();
+            return task;
+        }
+        execute(task);
+        return task;
+    }
+
+    // 还能扩容时新任务不会排队；否则排队数约为 submittedTaskCount - 存活 worker 数
+    private int estimateQueued() {
+        int live = getLiveWorkerCount();
+        if (live < getMaximumPoolSize()) {
+            return 0;
+        }
+        return Math.max(0, getSubmittedTaskCount() - live);
+    }
+
+    // 不入队、不重试，直接交给拒绝策略；策略正常返回时由装饰器扣减，抛出时在这里扣减
+    private void rejectImmediately(Runnable command) {
+        try {
+            getRejectedExecutionHandler().rejectedExecution(command, this);
+        } catch (RuntimeException | Error ex) {
+            adjustSubmittedTaskCount(-1);
+            throw ex;
+        }
+    }
+
+    private void stampSubmit(Runnable command) {
+        if (submitStamps != null && command != null) {
+            submitStamps.put(command, System.nanoTime());
+        }
+    }
+
+    // execute 中 +1 之后的部分，计数已由调用方预留
+    private void executeReserved(Runnable command) {
         try {
             super.execute(command);
         } catch (RejectedExecutionException e) {
-            WorkQueue<Runnable> workQueue = (WorkQueue<Runnable>) getQueue();
             try {
                 // 未成功入队 -1
-                if (!workQueue.retryOffer(command, retryOfferTimeout, retryOfferTimeoutUnit)) {
+                if (!workQueue.retryOffer(command, retryOfferTimeoutNanos, TimeUnit.NANOSECONDS)) {
                     adjustSubmittedTaskCount(-1);
+                    OverflowSpill spill = overflowSpill;
+                    if (spill != null && !isShutdown() && spill.trySpill(command)) {
+                        // 落盘的任务不占计数，重放入队时再计
+                        countAccepted(1);
+                        // 落盘期间 worker 可能已执行完最后一个任务，它的重放看不到这条记录，由提交线程补一次
+                        replaySpilled(SPILL_REPLAY_BATCH);
+                        return;
+                    }
                     throw new RejectedExecutionException(e);
                 }
+                // 拒绝策略已撤销接收计数，重新入队成功后补回
+                countAccepted(1);
             }catch (InterruptedException e1){
                 adjustSubmittedTaskCount(-1);
                 Thread.currentThread().interrupt();
@@ -172,8 +961,41 @@ public class EagerThreadPoolExecutor extends ThreadPoolExecutor {
         } catch (RuntimeException | Error ex) {
             adjustSubmittedTaskCount(-1);
             throw ex;
-        } finally {
-            IN_EXECUTE_CONTEXT.remove();
+        }
+    }
+
+    /**
+     * 在 worker 创建时 +1，worker 的 run 退出时 -1
+     * 线程创建成功但因线程池关闭未能启动的极端情况下计数会偏大，此时线程池已不再接收任务
+     * worker 启动、退出时同时通知工作队列，供按 worker 维护状态的队列使用
+     */
+    private final class WorkerTrackingThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory delegate;
+
+        private WorkerTrackingThreadFactory(ThreadFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(Runnable worker) {
+            Thread thread = delegate.newThread(() -> {
+                Thread current = Thread.currentThread();
+                try {
+                    workQueue.workerStarted(current);
+                    worker.run();
+                } finally {
+                    try {
+                        workQueue.workerExited(current);
+                    } finally {
+                        liveWorkerCount.decrementAndGet();
+                    }
+                }
+            });
+            if (thread != null) {
+                liveWorkerCount.incrementAndGet();
+            }
+            return thread;
         }
     }
 }
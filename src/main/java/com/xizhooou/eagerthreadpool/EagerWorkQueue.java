@@ -0,0 +1,60 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * eager 线程池的工作队列
+ * 实现需要保证：
+ * - offer(task) 在 {@link EagerThreadPoolExecutor#shouldCreateWorker()} 为 true 时返回 false，让线程池先扩容
+ * - 任务被 poll()/remove/clear/drainTo 从外部取走时，调用 adjustSubmittedTaskCount 扣减
+ * - 无参 poll() 取走的任务不会再执行（如 DiscardOldestPolicy 挤出最老的任务），还要调用 onEvicted 通知等待方
+ */
+public interface EagerWorkQueue extends BlockingQueue<Runnable> {
+
+    void setExecutor(EagerThreadPoolExecutor executor);
+
+    /**
+     * 拒绝策略中把任务直接放回队列，不做 eager 判断，成功后补 +1
+     */
+    boolean offerRejected(Runnable task);
+
+    /**
+     * 批量提交时直接入队，不做 eager 判断，计数已由调用方预留
+     */
+    boolean offerDirect(Runnable task);
+
+    /**
+     * execute 被拒绝后的重新入队，计数已由 execute 完成
+     */
+    boolean retryOffer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 当前容量上限
+     */
+    default int capacity() {
+        return size() + remainingCapacity();
+    }
+
+    /**
+     * 运行时调整容量。缩容不会丢弃已在队列中的任务，只是在出队到新容量以下之前不再接收新任务
+     *
+     * @throws UnsupportedOperationException 队列实现不支持调整
+     * @throws IllegalArgumentException      容量非法或超出实现允许的范围
+     */
+    default void setCapacity(int capacity) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support resizing");
+    }
+
+    /**
+     * worker 线程启动后、执行第一个任务前回调，在 worker 线程内执行
+     */
+    default void workerStarted(Thread worker) {
+    }
+
+    /**
+     * worker 线程退出前回调，在 worker 线程内执行
+     */
+    default void workerExited(Thread worker) {
+    }
+}
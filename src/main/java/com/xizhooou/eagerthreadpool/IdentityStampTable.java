@@ -0,0 +1,80 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 以对象身份为 key 记录时间戳的定长无锁表，用于在不包装任务、不分配对象的前提下关联提交与开始执行的时间
+ * - 开放寻址，最多探测 PROBES 个槽位；槽位先 CAS 成 CLAIMED 占有后再读写时间戳，读写之间互不踩踏
+ * - 探测窗口满时淘汰时间戳最旧的槽位，被拒绝、被移除而没有 take 的陈旧记录会被自然挤掉
+ * - 同一个对象并发 put 多次时 take 取到其中任意一个，统计上是近似值
+ */
+final class IdentityStampTable {
+
+    static final long NO_STAMP = Long.MIN_VALUE;
+
+    private static final int PROBES = 8;
+    private static final Object CLAIMED = new Object();
+
+    private final AtomicReferenceArray<Object> keys;
+    private final AtomicLongArray stamps;
+    private final int mask;
+
+    IdentityStampTable(int expectedEntries) {
+        int n = 16;
+        while (n < expectedEntries * 2 && n < (1 << 20)) {
+            n <<= 1;
+        }
+        this.mask = n - 1;
+        this.keys = new AtomicReferenceArray<>(n);
+        this.stamps = new AtomicLongArray(n);
+    }
+
+    void put(Object key, long stamp) {
+        int h = hash(key);
+        int victim = -1;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (h + i) & mask;
+            Object cur = keys.get(idx);
+            if (cur == null) {
+                if (keys.compareAndSet(idx, null, CLAIMED)) {
+                    stamps.set(idx, stamp);
+                    keys.set(idx, key);
+                    return;
+                }
+            } else if (cur != CLAIMED) {
+                long s = stamps.get(idx);
+                if (s < oldest) {
+                    oldest = s;
+                    victim = idx;
+                }
+            }
+        }
+        if (victim >= 0) {
+            Object cur = keys.get(victim);
+            if (cur != null && cur != CLAIMED && keys.compareAndSet(victim, cur, CLAIMED)) {
+                stamps.set(victim, stamp);
+                keys.set(victim, key);
+            }
+        }
+    }
+
+    long take(Object key) {
+        int h = hash(key);
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (h + i) & mask;
+            if (keys.get(idx) == key && keys.compareAndSet(idx, key, CLAIMED)) {
+                long stamp = stamps.get(idx);
+                keys.set(idx, null);
+                return stamp;
+            }
+        }
+        return NO_STAMP;
+    }
+
+    private static int hash(Object key) {
+        int h = System.identityHashCode(key);
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,155 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link EagerThreadPoolExecutor#executeOrdered(Object, Runnable)} 的单 key 邮箱，自身作为任务提交给线程池
+ * - pending 为已登记未执行完的任务数：提交方先 +1 再入队，0 -> 1 的提交方负责调度邮箱，因此同一时刻最多一个线程在消费
+ * - 消费方执行完一个任务 -1，减到 0 即退出；随后 CAS 0 -> DEAD 成功则从 map 中移除，DEAD 的邮箱不再接收任务
+ * - 每次调度最多连续执行 BATCH 个任务，之后重新入队让出 worker，避免热点 key 长期占用线程
+ * - 在 submittedTaskCount 中一个有待执行任务的邮箱计 1，eager 扩容按并发的 key 数而不是任务数
+ */
+final class OrderedMailbox implements DroppableTask {
+
+    private static final int DEAD = -1;
+    private static final int BATCH = 64;
+
+    private final Object key;
+    private final EagerThreadPoolExecutor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // 已提交给线程池、尚未开始消费；拒绝策略静默丢弃邮箱时据此判断
+    private final AtomicBoolean dispatched = new AtomicBoolean();
+    // 触发本次调度的任务，调度被拒绝时只拒绝它；邮箱自身重新入队时为 null。在 dispatched 置位前写入
+    private Runnable dispatchTask;
+
+    OrderedMailbox(Object key, EagerThreadPoolExecutor executor) {
+        this.key = key;
+        this.executor = executor;
+    }
+
+    /**
+     * 登记并入队；返回 -1 表示邮箱已回收需要换一个，返回 1 表示调用方需要调度邮箱，0 表示已有消费方
+     */
+    int enqueue(Runnable task) {
+        for (;;) {
+            int n = pending.get();
+            if (n == DEAD) {
+                return -1;
+            }
+            if (pending.compareAndSet(n, n + 1)) {
+                tasks.add(task);
+                return n == 0 ? 1 : 0;
+            }
+        }
+    }
+
+    void markDispatched(Runnable task) {
+        dispatchTask = task;
+        dispatched.set(true);
+    }
+
+    @Override
+    public void run() {
+        if (!dispatched.compareAndSet(true, false)) {
+            // 本次调度已被 drop 接管
+            return;
+        }
+        dispatchTask = null;
+        Thread current = Thread.currentThread();
+        for (int n = 1; ; n++) {
+            Runnable task = poll();
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                // 一个任务失败不能阻塞同 key 的后续任务，也不能让 worker 退出
+                current.getUncaughtExceptionHandler().uncaughtException(current, ex);
+            }
+            if (release()) {
+                return;
+            }
+            if (n >= BATCH) {
+                dispatched.set(true);
+                if (executor.requeue(this)) {
+                    return;
+                }
+                // 队列满或已关闭，继续在当前线程消费
+                dispatched.set(false);
+            }
+        }
+    }
+
+    /**
+     * 邮箱的调度被拒绝：只丢弃触发这次调度的任务（邮箱自身重新入队时为最早的任务），其余任务重新入队；
+     * 重新入队失败时丢弃剩余任务，逐个计入拒绝数。邮箱已开始消费时什么也不做
+     */
+    @Override
+    public void drop(RejectedExecutionException cause) {
+        if (!dispatched.compareAndSet(true, false)) {
+            return;
+        }
+        Runnable own = dispatchTask;
+        dispatchTask = null;
+        if (own == null || !tasks.remove(own)) {
+            poll();
+        }
+        if (release()) {
+            return;
+        }
+        dispatched.set(true);
+        if (executor.requeue(this)) {
+            return;
+        }
+        dispatched.set(false);
+        executor.countDiscarded(discardRest());
+    }
+
+    /**
+     * 邮箱被挤出工作队列（如 DiscardOldestPolicy）：丢弃已登记的全部任务，最早的一个之外逐个计入拒绝数
+     * 不重新入队，否则会和挤出它之后的重新提交争抢刚腾出的空位
+     */
+    void evict() {
+        if (!dispatched.compareAndSet(true, false)) {
+            return;
+        }
+        dispatchTask = null;
+        poll();
+        if (!release()) {
+            executor.countDiscarded(discardRest());
+        }
+    }
+
+    // 丢弃剩余任务直到邮箱回收，返回丢弃数
+    private int discardRest() {
+        int n = 0;
+        do {
+            poll();
+            n++;
+        } while (!release());
+        return n;
+    }
+
+    // pending > 0 时任务一定已经或即将入队（提交方 +1 与入队之间的短暂窗口）
+    private Runnable poll() {
+        Runnable task;
+        while ((task = tasks.poll()) == null) {
+            Thread.yield();
+        }
+        return task;
+    }
+
+    // 消费完一个任务；减到 0 时退出，能 CAS 成 DEAD 则回收
+    private boolean release() {
+        if (pending.decrementAndGet() != 0) {
+            return false;
+        }
+        if (pending.compareAndSet(0, DEAD)) {
+            executor.removeMailbox(key, this);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 批量提交时部分任务被拒绝
+ * 对 submitAll 来说，两个列表中的元素都是返回给调用方的 Future
+ */
+public class PartialRejectedExecutionException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Runnable> rejectedTasks;
+    private final transient List<Runnable> acceptedTasks;
+
+    public PartialRejectedExecutionException(List<Runnable> rejectedTasks, List<Runnable> acceptedTasks) {
+        super(rejectedTasks.size() + " of " + (rejectedTasks.size() + acceptedTasks.size()) + " tasks rejected");
+        this.rejectedTasks = Collections.unmodifiableList(rejectedTasks);
+        this.acceptedTasks = Collections.unmodifiableList(acceptedTasks);
+    }
+
+    public List<Runnable> getRejectedTasks() {
+        return rejectedTasks;
+    }
+
+    public List<Runnable> getAcceptedTasks() {
+        return acceptedTasks;
+    }
+}
@@ -0,0 +1,156 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行时调整的参数，只设置需要修改的项，未设置的保持不变
+ * 通过 {@link EagerThreadPoolExecutor#reconfigure(PoolReconfiguration)} 生效
+ */
+public final class PoolReconfiguration {
+
+    private final Integer corePoolSize;
+    private final Integer maximumPoolSize;
+    private final Integer queueCapacity;
+    private final Long retryOfferTimeoutNanos;
+    private final Boolean alertEnabled;
+    private final Long thresholdPerMinute;
+    private final Long cooldownMillis;
+    private final Integer maxMessageChars;
+
+    private PoolReconfiguration(Builder b) {
+        this.corePoolSize = b.corePoolSize;
+        this.maximumPoolSize = b.maximumPoolSize;
+        this.queueCapacity = b.queueCapacity;
+        this.retryOfferTimeoutNanos = b.retryOfferTimeoutNanos;
+        this.alertEnabled = b.alertEnabled;
+        this.thresholdPerMinute = b.thresholdPerMinute;
+        this.cooldownMillis = b.cooldownMillis;
+        this.maxMessageChars = b.maxMessageChars;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    Integer corePoolSize() {
+        return corePoolSize;
+    }
+
+    Integer maximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    Integer queueCapacity() {
+        return queueCapacity;
+    }
+
+    Long retryOfferTimeoutNanos() {
+        return retryOfferTimeoutNanos;
+    }
+
+    Boolean alertEnabled() {
+        return alertEnabled;
+    }
+
+    Long thresholdPerMinute() {
+        return thresholdPerMinute;
+    }
+
+    Long cooldownMillis() {
+        return cooldownMillis;
+    }
+
+    Integer maxMessageChars() {
+        return maxMessageChars;
+    }
+
+    boolean hasAlertThresholds() {
+        return thresholdPerMinute != null || cooldownMillis != null || maxMessageChars != null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PoolReconfiguration{");
+        append(sb, "corePoolSize", corePoolSize);
+        append(sb, "maximumPoolSize", maximumPoolSize);
+        append(sb, "queueCapacity", queueCapacity);
+        append(sb, "retryOfferTimeoutNanos", retryOfferTimeoutNanos);
+        append(sb, "alertEnabled", alertEnabled);
+        append(sb, "thresholdPerMinute", thresholdPerMinute);
+        append(sb, "cooldownMillis", cooldownMillis);
+        append(sb, "maxMessageChars", maxMessageChars);
+        if (sb.charAt(sb.length() - 1) == ' ') {
+            sb.setLength(sb.length() - 2);
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void append(StringBuilder sb, String name, Object value) {
+        if (value != null) {
+            sb.append(name).append('=').append(value).append(", ");
+        }
+    }
+
+    public static final class Builder {
+
+        private Integer corePoolSize;
+        private Integer maximumPoolSize;
+        private Integer queueCapacity;
+        private Long retryOfferTimeoutNanos;
+        private Boolean alertEnabled;
+        private Long thresholdPerMinute;
+        private Long cooldownMillis;
+        private Integer maxMessageChars;
+
+        private Builder() {}
+
+        public Builder corePoolSize(int v) {
+            this.corePoolSize = v;
+            return this;
+        }
+
+        public Builder maximumPoolSize(int v) {
+            this.maximumPoolSize = v;
+            return this;
+        }
+
+        /**
+         * 队列容量，缩容时已排队的任务保留
+         */
+        public Builder queueCapacity(int v) {
+            this.queueCapacity = v;
+            return this;
+        }
+
+        public Builder retryOfferTimeout(long timeout, TimeUnit unit) {
+            Objects.requireNonNull(unit, "retryOfferTimeoutUnit");
+            this.retryOfferTimeoutNanos = timeout < 0 ? -1 : unit.toNanos(timeout);
+            return this;
+        }
+
+        public Builder alertEnabled(boolean on) {
+            this.alertEnabled = on;
+            return this;
+        }
+
+        public Builder thresholdPerMinute(long n) {
+            this.thresholdPerMinute = n;
+            return this;
+        }
+
+        public Builder cooldownSeconds(long s) {
+            this.cooldownMillis = s < 0 ? -1 : TimeUnit.SECONDS.toMillis(s);
+            return this;
+        }
+
+        public Builder maxMessageChars(int chars) {
+            this.maxMessageChars = chars;
+            return this;
+        }
+
+        public PoolReconfiguration build() {
+            return new PoolReconfiguration(this);
+        }
+    }
+}
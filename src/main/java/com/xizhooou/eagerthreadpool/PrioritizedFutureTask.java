@@ -0,0 +1,28 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * submit 包装后的任务保留优先级，否则 FutureTask 会丢失 {@link PrioritizedRunnable} 信息
+ * 需要带优先级的 Callable 时可直接构造后 execute
+ */
+public class PrioritizedFutureTask<V> extends FutureTask<V> implements PrioritizedRunnable {
+
+    private final int priority;
+
+    public PrioritizedFutureTask(int priority, Callable<V> callable) {
+        super(callable);
+        this.priority = priority;
+    }
+
+    public PrioritizedFutureTask(int priority, Runnable runnable, V result) {
+        super(runnable, result);
+        this.priority = priority;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,29 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.Objects;
+
+/**
+ * 带优先级的任务，配合 {@link PriorityWorkQueue} 使用
+ * 数值越大越先执行，同优先级按提交顺序执行；未实现该接口的任务视为 {@link #DEFAULT_PRIORITY}
+ */
+public interface PrioritizedRunnable extends Runnable {
+
+    int DEFAULT_PRIORITY = 0;
+
+    int getPriority();
+
+    static PrioritizedRunnable of(int priority, Runnable task) {
+        Objects.requireNonNull(task, "task");
+        return new PrioritizedRunnable() {
+            @Override
+            public int getPriority() {
+                return priority;
+            }
+
+            @Override
+            public void run() {
+                task.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,443 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 有界的优先级工作队列，二叉堆 + 单锁
+ * - 优先级取自 {@link PrioritizedRunnable#getPriority()}，数值大的先出队；同优先级按入队序号先进先出
+ * - 堆用平行数组（任务、优先级、序号）存放，比较时不回调任务、不分配节点；数组按需倍增，不超过 capacity
+ * - eager 判断在加锁之前完成
+ * eager 判断与 submittedTaskCount 的扣减规则与 {@link WorkQueue} 一致
+ */
+public class PriorityWorkQueue extends AbstractQueue<Runnable> implements EagerWorkQueue {
+
+    private static final int INITIAL_SLOTS = 64;
+
+    // 只在持有 lock 时修改
+    private volatile int capacity;
+
+    private Runnable[] tasks;
+    private int[] priorities;
+    private long[] seqs;
+    private int size;
+    private long nextSeq;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private EagerThreadPoolExecutor executor;
+
+    public PriorityWorkQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        int slots = Math.min(capacity, INITIAL_SLOTS);
+        this.tasks = new Runnable[slots];
+        this.priorities = new int[slots];
+        this.seqs = new long[slots];
+    }
+
+    @Override
+    public void setExecutor(EagerThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        if (executor != null && executor.shouldCreateWorker()) {
+            return false;
+        }
+        return tryEnqueue(task);
+    }
+
+    @Override
+    public boolean offerRejected(Runnable task) {
+        Objects.requireNonNull(task);
+        boolean ok = tryEnqueue(task);
+        if (ok && executor != null) {
+            executor.adjustSubmittedTaskCount(1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean offerDirect(Runnable task) {
+        Objects.requireNonNull(task);
+        return tryEnqueue(task);
+    }
+
+    @Override
+    public boolean retryOffer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (executor != null && executor.isShutdown()) {
+            throw new RejectedExecutionException("executor is shutdown");
+        }
+        return offer(task, timeout, unit);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        Runnable r;
+        lock.lock();
+        try {
+            r = size == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+        if (r != null && executor != null) {
+            executor.adjustSubmittedTaskCount(-1);
+            executor.onEvicted(r);
+        }
+        return r;
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            return size == 0 ? null : tasks[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        boolean removed = false;
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(tasks[i])) {
+                    removeAt(i);
+                    removed = true;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (removed && executor != null) {
+            executor.adjustSubmittedTaskCount(-1);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(tasks[i])) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        int n;
+        lock.lock();
+        try {
+            n = size;
+            Arrays.fill(tasks, 0, size, null);
+            size = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (n > 0 && executor != null) {
+            executor.adjustSubmittedTaskCount(-n);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        lock.lock();
+        try {
+            while (n < maxElements && size > 0) {
+                c.add(dequeue());
+                n++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (n > 0 && executor != null) {
+            executor.adjustSubmittedTaskCount(-n);
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 调整容量；缩容时已在队列中的任务不受影响，出队到新容量以下后才接收新任务
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        lock.lock();
+        try {
+            this.capacity = capacity;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 弱一致的快照迭代器，顺序为堆内顺序而非出队顺序，仅用于 purge、监控等低频场景
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        Runnable[] snapshot;
+        lock.lock();
+        try {
+            snapshot = Arrays.copyOf(tasks, size);
+        } finally {
+            lock.unlock();
+        }
+        return new Iterator<>() {
+            private int cursor;
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            public Runnable next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                last = snapshot[cursor++];
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                PriorityWorkQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private boolean tryEnqueue(Runnable task) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 以下方法需持有 lock
+
+    private void enqueue(Runnable task) {
+        if (size == tasks.length) {
+            grow();
+        }
+        int priority = (task instanceof PrioritizedRunnable p) ? p.getPriority() : PrioritizedRunnable.DEFAULT_PRIORITY;
+        siftUp(size++, task, priority, nextSeq++);
+        notEmpty.signal();
+    }
+
+    private Runnable dequeue() {
+        Runnable head = tasks[0];
+        int last = --size;
+        Runnable moved = tasks[last];
+        int movedPriority = priorities[last];
+        long movedSeq = seqs[last];
+        tasks[last] = null;
+        if (last > 0) {
+            siftDown(0, moved, movedPriority, movedSeq);
+        }
+        notFull.signal();
+        return head;
+    }
+
+    private void removeAt(int i) {
+        int last = --size;
+        if (i != last) {
+            Runnable moved = tasks[last];
+            int movedPriority = priorities[last];
+            long movedSeq = seqs[last];
+            tasks[last] = null;
+            siftDown(i, moved, movedPriority, movedSeq);
+            if (tasks[i] == moved) {
+                siftUp(i, moved, movedPriority, movedSeq);
+            }
+        } else {
+            tasks[last] = null;
+        }
+        notFull.signal();
+    }
+
+    private void grow() {
+        int slots = (int) Math.min(capacity, (long) tasks.length << 1);
+        tasks = Arrays.copyOf(tasks, slots);
+        priorities = Arrays.copyOf(priorities, slots);
+        seqs = Arrays.copyOf(seqs, slots);
+    }
+
+    // a 是否应排在 b 之前：优先级高的在前，同优先级序号小的在前
+    private static boolean before(int pa, long sa, int pb, long sb) {
+        return pa > pb || (pa == pb && sa < sb);
+    }
+
+    private void siftUp(int k, Runnable task, int priority, long seq) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (!before(priority, seq, priorities[parent], seqs[parent])) {
+                break;
+            }
+            set(k, tasks[parent], priorities[parent], seqs[parent]);
+            k = parent;
+        }
+        set(k, task, priority, seq);
+    }
+
+    private void siftDown(int k, Runnable task, int priority, long seq) {
+        int half = size >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < size && before(priorities[right], seqs[right], priorities[child], seqs[child])) {
+                child = right;
+            }
+            if (!before(priorities[child], seqs[child], priority, seq)) {
+                break;
+            }
+            set(k, tasks[child], priorities[child], seqs[child]);
+            k = child;
+        }
+        set(k, task, priority, seq);
+    }
+
+    private void set(int k, Runnable task, int priority, long seq) {
+        tasks[k] = task;
+        priorities[k] = priority;
+        seqs[k] = seq;
+    }
+}
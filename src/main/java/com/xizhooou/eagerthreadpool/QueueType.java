@@ -0,0 +1,36 @@
+package com.xizhooou.eagerthreadpool;
+
+public enum QueueType {
+
+    /**
+     * 基于 LinkedBlockingQueue，每个任务分配一个链表节点
+     */
+    LINKED {
+        @Override
+        EagerWorkQueue create(int capacity) {
+            return new WorkQueue<>(capacity);
+        }
+    },
+
+    /**
+     * 预分配数组的无锁 MPMC 环形队列，入队出队不分配对象
+     */
+    RING {
+        @Override
+        EagerWorkQueue create(int capacity) {
+            return new RingWorkQueue(capacity);
+        }
+    },
+
+    /**
+     * 有界优先级队列，按 {@link PrioritizedRunnable#getPriority()} 出队，同优先级先进先出
+     */
+    PRIORITY {
+        @Override
+        EagerWorkQueue create(int capacity) {
+            return new PriorityWorkQueue(capacity);
+        }
+    };
+
+    abstract EagerWorkQueue create(int capacity);
+}
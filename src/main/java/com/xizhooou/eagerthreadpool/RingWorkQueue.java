@@ -0,0 +1,443 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 预分配数组的有界 MPMC 环形队列（Vyukov 序号槽位算法）
+ * - 每个槽位带一个序号：序号 == pos 表示可写，序号 == pos + 1 表示可读，入队出队各一次 CAS，不分配对象
+ * - 只有队列空（take/poll(timeout)）或满（offer(timeout)）时才加锁并 park
+ * - remove(Object) 把槽位标记为 REMOVED，由消费者出队时跳过；被标记的槽位在消费前仍占用容量
+ * - 槽位按构造时的容量一次性分配，运行时可在 [1, 初始容量] 内调整逻辑容量
+ * eager 判断与 submittedTaskCount 的扣减规则与 {@link WorkQueue} 一致
+ */
+public class RingWorkQueue extends AbstractQueue<Runnable> implements EagerWorkQueue {
+
+    private static final Runnable REMOVED = () -> { };
+
+    // 16 * 8 = 128 字节，head/tail 分别独占缓存行
+    private static final int PAD = 16;
+    private static final int TAIL = PAD;
+    private static final int HEAD = PAD * 2;
+
+    // 逻辑容量，不超过 slots
+    private volatile int capacity;
+    private final int maxCapacity;
+    // 物理槽位数：序号算法要求至少 2 个槽位，否则满与空的序号无法区分
+    private final int slots;
+    private final AtomicReferenceArray<Runnable> buffer;
+    private final AtomicLongArray sequence;
+    private final AtomicLongArray positions = new AtomicLongArray(PAD * 3);
+    // 已标记 REMOVED 但还未被消费者跳过的槽位数
+    private final AtomicInteger removedPending = new AtomicInteger(0);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingTakers = new AtomicInteger(0);
+    private final AtomicInteger waitingPutters = new AtomicInteger(0);
+
+    private EagerThreadPoolExecutor executor;
+
+    public RingWorkQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.maxCapacity = capacity;
+        this.slots = Math.max(2, capacity);
+        this.buffer = new AtomicReferenceArray<>(slots);
+        this.sequence = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    @Override
+    public void setExecutor(EagerThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        if (executor != null && executor.shouldCreateWorker()) {
+            return false;
+        }
+        return tryEnqueue(task);
+    }
+
+    @Override
+    public boolean offerRejected(Runnable task) {
+        Objects.requireNonNull(task);
+        boolean ok = tryEnqueue(task);
+        if (ok && executor != null) {
+            executor.adjustSubmittedTaskCount(1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean offerDirect(Runnable task) {
+        Objects.requireNonNull(task);
+        return tryEnqueue(task);
+    }
+
+    @Override
+    public boolean retryOffer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (executor != null && executor.isShutdown()) {
+            throw new RejectedExecutionException("executor is shutdown");
+        }
+        return offer0(task, true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer0(task, true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        offer0(task, false, 0L);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return poll0(false, 0L);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll0(true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public Runnable poll() {
+        Runnable r = tryDequeue();
+        if (r != null && executor != null) {
+            executor.adjustSubmittedTaskCount(-1);
+            executor.onEvicted(r);
+        }
+        return r;
+    }
+
+    @Override
+    public Runnable peek() {
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            Runnable r = liveAt(pos);
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            Runnable r = liveAt(pos);
+            if (r != null && o.equals(r) && buffer.compareAndSet(index(pos), r, REMOVED)) {
+                removedPending.incrementAndGet();
+                if (executor != null) {
+                    executor.adjustSubmittedTaskCount(-1);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            Runnable r = liveAt(pos);
+            if (r != null && o.equals(r)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        int n = 0;
+        while (tryDequeue() != null) {
+            n++;
+        }
+        if (n > 0 && executor != null) {
+            executor.adjustSubmittedTaskCount(-n);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        Runnable r;
+        while (n < maxElements && (r = tryDequeue()) != null) {
+            c.add(r);
+            n++;
+        }
+        if (n > 0 && executor != null) {
+            executor.adjustSubmittedTaskCount(-n);
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        long n = tail - head - removedPending.get();
+        return (int) Math.max(0, Math.min(n, slots));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 调整逻辑容量，不能超过构造时分配的槽位数；缩容时已在队列中的任务不受影响
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        if (capacity > maxCapacity) {
+            throw new IllegalArgumentException("RingWorkQueue capacity can not grow beyond " + maxCapacity);
+        }
+        this.capacity = capacity;
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 可调到的最大容量，即构造时的容量
+     */
+    public int maxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * 弱一致的快照迭代器，仅用于 purge、监控等低频场景
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        long head = positions.get(HEAD);
+        long tail = positions.get(TAIL);
+        for (long pos = head; pos < tail; pos++) {
+            Runnable r = liveAt(pos);
+            if (r != null) {
+                snapshot.add(r);
+            }
+        }
+        Iterator<Runnable> it = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingWorkQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private boolean tryEnqueue(Runnable task) {
+        for (;;) {
+            long pos = positions.get(TAIL);
+            int idx = index(pos);
+            long dif = sequence.get(idx) - pos;
+            if (dif == 0) {
+                // 物理槽位多于容量时额外检查逻辑容量；读到的 head 只会偏旧，不会超出容量
+                int cap = capacity;
+                if (cap < slots && pos - positions.get(HEAD) >= cap) {
+                    return false;
+                }
+                if (positions.compareAndSet(TAIL, pos, pos + 1)) {
+                    buffer.lazySet(idx, task);
+                    sequence.set(idx, pos + 1);
+                    signal(waitingTakers, notEmpty);
+                    return true;
+                }
+            } else if (dif < 0) {
+                return false;
+            }
+        }
+    }
+
+    private Runnable tryDequeue() {
+        for (;;) {
+            long pos = positions.get(HEAD);
+            int idx = index(pos);
+            long dif = sequence.get(idx) - (pos + 1);
+            if (dif == 0) {
+                if (positions.compareAndSet(HEAD, pos, pos + 1)) {
+                    Runnable r = buffer.getAndSet(idx, null);
+                    sequence.set(idx, pos + slots);
+                    signal(waitingPutters, notFull);
+                    if (r == REMOVED) {
+                        removedPending.decrementAndGet();
+                        continue;
+                    }
+                    return r;
+                }
+            } else if (dif < 0) {
+                return null;
+            }
+        }
+    }
+
+    private boolean offer0(Runnable task, boolean timed, long nanos) throws InterruptedException {
+        Objects.requireNonNull(task);
+        if (tryEnqueue(task)) {
+            return true;
+        }
+        lock.lockInterruptibly();
+        try {
+            waitingPutters.incrementAndGet();
+            try {
+                for (;;) {
+                    if (tryEnqueue(task)) {
+                        return true;
+                    }
+                    if (timed) {
+                        if (nanos <= 0L) {
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    } else {
+                        notFull.await();
+                    }
+                }
+            } catch (InterruptedException ie) {
+                // 把可能已收到的唤醒传递给其他等待者
+                notFull.signal();
+                throw ie;
+            } finally {
+                waitingPutters.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable poll0(boolean timed, long nanos) throws InterruptedException {
+        Runnable r = tryDequeue();
+        if (r != null) {
+            return r;
+        }
+        lock.lockInterruptibly();
+        try {
+            waitingTakers.incrementAndGet();
+            try {
+                for (;;) {
+                    r = tryDequeue();
+                    if (r != null) {
+                        return r;
+                    }
+                    if (timed) {
+                        if (nanos <= 0L) {
+                            return null;
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    } else {
+                        notEmpty.await();
+                    }
+                }
+            } catch (InterruptedException ie) {
+                notEmpty.signal();
+                throw ie;
+            } finally {
+                waitingTakers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 有线程在等待时才加锁唤醒；等待方先登记再复查队列，配合这里的先写槽位再读登记数，不会丢失唤醒
+     */
+    private void signal(AtomicInteger waiters, Condition condition) {
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                condition.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // pos 位置上已写入且未被标记删除的任务
+    private Runnable liveAt(long pos) {
+        int idx = index(pos);
+        if (sequence.get(idx) != pos + 1) {
+            return null;
+        }
+        Runnable r = buffer.get(idx);
+        return (r == null || r == REMOVED) ? null : r;
+    }
+
+    private int index(long pos) {
+        return (int) (pos % slots);
+    }
+}
@@ -0,0 +1,128 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 类似 LongAdder 的分段计数器
+ * - 每个线程按线程 id 落到固定的 cell，递增只做一次 getAndAdd，没有 CAS 重试
+ * - cell 之间间隔 128 字节，避免伪共享（包括相邻缓存行预取）
+ * - 每个 cell 高 32 位为修改版本号（每次修改 +1，单调递增），低 32 位为计数，计数永不为负
+ * - 递减先从自己的 cell 扣，不够时依次从其他 cell 扣；所有 cell 都为 0 时丢弃剩余部分，
+ *   与 {@link AtomicTaskCounter} 一样在写入时截断到 0
+ * - 判断“所有 cell 同时为 0”与 getExact 都用两次扫描：版本号之和不变说明两次扫描之间没有任何修改，读到的是同一时刻的快照
+ */
+public class StripedTaskCounter implements TaskCounter {
+
+    // 16 * 8 = 128 字节
+    private static final int PAD = 16;
+    private static final int MAX_STRIPES = 128;
+    private static final long VERSION = 1L << 32;
+    private static final long VALUE_MASK = VERSION - 1;
+    // getExact 连续被并发修改打断的次数上限，超过后返回最后一次扫描的和
+    private static final int SNAPSHOT_RETRIES = 16;
+
+    // cell i 位于 (i + 1) * PAD，首尾各留一段填充
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public StripedTaskCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedTaskCounter(int stripes) {
+        int n = 1;
+        while (n < Math.min(Math.max(stripes, 1), MAX_STRIPES)) {
+            n <<= 1;
+        }
+        this.mask = n - 1;
+        this.cells = new AtomicLongArray((n + 2) * PAD);
+    }
+
+    @Override
+    public void add(int delta) {
+        if (delta > 0) {
+            cells.getAndAdd(cellIndex(), VERSION + delta);
+        } else if (delta < 0) {
+            subtract(-(long) delta);
+        }
+    }
+
+    @Override
+    public int get() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(slot(i)) & VALUE_MASK;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int getExact() {
+        long versions = 0;
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            long w = cells.get(slot(i));
+            versions += w >>> 32;
+            sum += w & VALUE_MASK;
+        }
+        for (int retry = 0; retry < SNAPSHOT_RETRIES; retry++) {
+            long versions2 = 0;
+            long sum2 = 0;
+            for (int i = 0; i <= mask; i++) {
+                long w = cells.get(slot(i));
+                versions2 += w >>> 32;
+                sum2 += w & VALUE_MASK;
+            }
+            if (versions2 == versions) {
+                break;
+            }
+            versions = versions2;
+            sum = sum2;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    private void subtract(long n) {
+        int start = (cellIndex() - PAD) / PAD;
+        for (;;) {
+            // 第一轮：从自己的 cell 开始逐个扣减，同时累加扣空后各 cell 的版本号
+            long versions = 0;
+            for (int k = 0; k <= mask; k++) {
+                int idx = slot((start + k) & mask);
+                long w = cells.get(idx);
+                while ((w & VALUE_MASK) > 0) {
+                    long take = Math.min(w & VALUE_MASK, n);
+                    long next = w + VERSION - take;
+                    if (cells.compareAndSet(idx, w, next)) {
+                        n -= take;
+                        if (n == 0) {
+                            return;
+                        }
+                        w = next;
+                        break;
+                    }
+                    w = cells.get(idx);
+                }
+                versions += w >>> 32;
+            }
+            // 第二轮：版本号之和不变说明第一轮之后所有 cell 同时为 0，丢弃剩余的递减
+            long versions2 = 0;
+            for (int i = 0; i <= mask; i++) {
+                versions2 += cells.get(slot(i)) >>> 32;
+            }
+            if (versions2 == versions) {
+                return;
+            }
+        }
+    }
+
+    private static int slot(int i) {
+        return i * PAD + PAD;
+    }
+
+    private int cellIndex() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return slot((h ^ (h >>> 16)) & mask);
+    }
+}
@@ -0,0 +1,20 @@
+package com.xizhooou.eagerthreadpool;
+
+/**
+ * submittedTaskCount 计数器
+ * 计数语义：结果不会小于 0，多余的递减在写入时被吸收
+ */
+public interface TaskCounter {
+
+    void add(int delta);
+
+    /**
+     * 近似读，开销低，适合监控、日志
+     */
+    int get();
+
+    /**
+     * 精确读，供 eager 入队判断使用
+     */
+    int getExact();
+}
@@ -0,0 +1,26 @@
+package com.xizhooou.eagerthreadpool;
+
+public enum TaskCounterType {
+
+    /**
+     * 单个 AtomicInteger + CAS 重试，低并发下开销最小
+     */
+    ATOMIC {
+        @Override
+        TaskCounter create() {
+            return new AtomicTaskCounter();
+        }
+    },
+
+    /**
+     * 分段计数，多核高并发提交时避免单点 CAS 竞争
+     */
+    STRIPED {
+        @Override
+        TaskCounter create() {
+            return new StripedTaskCounter();
+        }
+    };
+
+    abstract TaskCounter create();
+}
@@ -1,65 +1,92 @@
 package com.xizhooou.eagerthreadpool;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
-public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable> {
-
-    static final ThreadLocal<Boolean> IN_REJECT_CONTEXT =
-            ThreadLocal.withInitial(() -> Boolean.FALSE);
-
-    public static void enterRejectContext() {
-        IN_REJECT_CONTEXT.set(Boolean.TRUE);
-    }
-
-    public static void exitRejectContext() {
-        IN_REJECT_CONTEXT.remove();
-    }
-
-    public static boolean isInRejectContext() {
-        return Boolean.TRUE.equals(IN_REJECT_CONTEXT.get());
-    }
+/**
+ * 入队路径通过方法区分，而不是 ThreadLocal 标记：
+ * - offer(task)：ThreadPoolExecutor.execute 调用，执行 eager 判断，计数已由 execute 完成
+ * - retryOffer(...)：execute 拒绝后的重新入队，计数已由 execute 完成
+ * - offerRejected(task)：自定义拒绝策略把任务放回队列，成功后补 +1
+ * - poll()：worker 只会调用 take()/poll(timeout)，无参 poll 只来自外部（如 DiscardOldestPolicy），取出即 -1 并通知 onEvicted
+ * 容量可在运行时调整：底层 LinkedBlockingQueue 不设上限，容量由入队方在 putGate 下检查，
+ * 入队本来就在 LinkedBlockingQueue 的 putLock 上串行，多一把无竞争的锁；出队路径不变
+ * 所有出队、删除路径（包括 removeIf、迭代器删除）都经过本类，删除成功即唤醒等待空位的入队方，等待不需要轮询
+ */
+public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable> implements EagerWorkQueue {
 
     private EagerThreadPoolExecutor executor;
 
+    private volatile int capacity;
+    private final ReentrantLock putGate = new ReentrantLock();
+    private final Condition notFull = putGate.newCondition();
+    private final AtomicInteger waitingPutters = new AtomicInteger(0);
+
+    @Override
     public void setExecutor(EagerThreadPoolExecutor executor) {
         this.executor = executor;
     }
 
     public WorkQueue(int capacity) {
-        super(capacity);
+        super(Integer.MAX_VALUE);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
     }
 
     @Override
     public boolean offer(Runnable task) {
 
-        if (executor == null) return super.offer(task);
-
-        if (isInRejectContext() && !EagerThreadPoolExecutor.isInExecuteContext()){
-            boolean ok = super.offer(task);
-            if (ok) executor.adjustSubmittedTaskCount(1);
-            return ok;
+        if (executor != null && executor.shouldCreateWorker()) {
+            return false;
         }
+        return tryOffer(task);
+    }
 
-        int poolSize = executor.getPoolSize();
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        return offer0(task, true, unit.toNanos(timeout));
+    }
 
-        if (poolSize > executor.getSubmittedTaskCount()){
-            return super.offer(task);
-        }
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        offer0(task, false, 0L);
+    }
 
-        if (poolSize < executor.getMaximumPoolSize()){
-            return false;
+    @Override
+    public Runnable take() throws InterruptedException {
+        Runnable r = super.take();
+        signalNotFull();
+        return r;
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Runnable r = super.poll(timeout, unit);
+        if (r != null) {
+            signalNotFull();
         }
-        return super.offer(task);
+        return r;
     }
 
     @Override
     public Runnable poll(){
         Runnable r = super.poll();
-        if (r != null && executor != null && isInRejectContext()){
+        if (r != null && executor != null){
             executor.adjustSubmittedTaskCount(-1);
+            executor.onEvicted(r);
+        }
+        if (r != null) {
+            signalNotFull();
         }
         return r;
     }
@@ -70,9 +97,71 @@ public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable>
         if (removed && executor != null) {
             executor.adjustSubmittedTaskCount(-1);
         }
+        if (removed) {
+            signalNotFull();
+        }
         return removed;
     }
 
+    /**
+     * LinkedBlockingQueue 的批量删除不经过 remove(Object)，这里逐个走 remove 以便扣减计数、唤醒入队方
+     * 仅用于 purge 等低频场景
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Runnable> filter) {
+        Objects.requireNonNull(filter);
+        boolean removed = false;
+        for (Runnable r : toArray(new Runnable[0])) {
+            if (filter.test(r) && remove(r)) {
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(r -> !c.contains(r));
+    }
+
+    /**
+     * 弱一致迭代器；删除走 remove(Object)，与 removeIf 一样扣减计数、唤醒入队方
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        Iterator<Runnable> it = super.iterator();
+        return new Iterator<>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                WorkQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
     @Override
     public void clear() {
         int n = size();
@@ -80,6 +169,7 @@ public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable>
         if (n > 0 && executor != null) {
             executor.adjustSubmittedTaskCount(-n);
         }
+        signalNotFull();
     }
 
     @Override
@@ -88,6 +178,9 @@ public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable>
         if (n > 0 && executor != null) {
             executor.adjustSubmittedTaskCount(-n);
         }
+        if (n > 0) {
+            signalNotFull();
+        }
         return n;
     }
 
@@ -97,13 +190,116 @@ public class WorkQueue<R extends Runnable> extends LinkedBlockingQueue<Runnable>
         if (n > 0 && executor != null) {
             executor.adjustSubmittedTaskCount(-n);
         }
+        if (n > 0) {
+            signalNotFull();
+        }
         return n;
     }
 
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 调整容量；缩容时已在队列中的任务不受影响，出队到新容量以下后才接收新任务
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        putGate.lock();
+        try {
+            this.capacity = capacity;
+            notFull.signalAll();
+        } finally {
+            putGate.unlock();
+        }
+    }
+
+    /**
+     * 拒绝策略中把任务直接放回队列，不做 eager 判断
+     * 拒绝策略正常返回时 execute 的 +1 会被抵消，这里需要为入队的任务重新计数
+     */
+    @Override
+    public boolean offerRejected(Runnable task) {
+        boolean ok = tryOffer(task);
+        if (ok && executor != null) {
+            executor.adjustSubmittedTaskCount(1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean offerDirect(Runnable task) {
+        return tryOffer(task);
+    }
+
+    @Override
     public boolean retryOffer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
         if (executor != null && executor.isShutdown()) {
             throw new RejectedExecutionException("executor is shutdown");
         }
-        return super.offer(task, timeout, unit);
+        return offer(task, timeout, unit);
+    }
+
+    // 入队方在 putGate 下串行检查容量，size 只会被出队方减小，检查通过后一定不超出容量
+    private boolean tryOffer(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        putGate.lock();
+        try {
+            return size() < capacity && super.offer(task);
+        } finally {
+            putGate.unlock();
+        }
+    }
+
+    private boolean offer0(Runnable task, boolean timed, long nanos) throws InterruptedException {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        putGate.lockInterruptibly();
+        try {
+            waitingPutters.incrementAndGet();
+            try {
+                while (size() >= capacity) {
+                    if (timed) {
+                        if (nanos <= 0L) {
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    } else {
+                        notFull.await();
+                    }
+                }
+                return super.offer(task);
+            } finally {
+                waitingPutters.decrementAndGet();
+            }
+        } finally {
+            putGate.unlock();
+        }
+    }
+
+    /**
+     * 有线程在等待空位时才加锁唤醒；等待方在 putGate 下先登记再检查 size，不会丢失唤醒
+     */
+    private void signalNotFull() {
+        if (waitingPutters.get() > 0) {
+            putGate.lock();
+            try {
+                notFull.signal();
+            } finally {
+                putGate.unlock();
+            }
+        }
     }
 }
@@ -0,0 +1,567 @@
+package com.xizhooou.eagerthreadpool;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工作窃取模式的工作队列：共享队列只接收外部提交，worker 内部提交的任务进入该 worker 自己的本地双端队列
+ * - 取任务顺序：本地队列尾部（LIFO）-> 共享队列 -> 已退出 worker 遗留的任务 -> 从其他 worker 本地队列头部窃取
+ * - 本地队列满时回落到共享队列；eager 判断在入队前完成，与 {@link WorkQueue} 一致
+ * - worker 退出时，本地剩余任务转入遗留队列，由其他 worker 继续执行
+ * - 共享队列只作为存储使用，不设置 executor；submittedTaskCount 的扣减由本类按 {@link EagerWorkQueue} 的约定完成
+ * 空闲 worker 在本类自己的条件变量上等待到 keepAlive 结束，任何入队都会唤醒；等待方先登记再复查，不需要定时醒来重新扫描
+ */
+public class WorkStealingWorkQueue extends AbstractQueue<Runnable> implements EagerWorkQueue {
+
+    private static final WorkerDeque[] NO_DEQUES = new WorkerDeque[0];
+
+    private final EagerWorkQueue shared;
+    private final int localCapacity;
+
+    private final ConcurrentHashMap<Thread, WorkerDeque> owners = new ConcurrentHashMap<>();
+    // 窃取时遍历的快照，worker 启停时整体替换
+    private volatile WorkerDeque[] deques = NO_DEQUES;
+    private final ConcurrentLinkedQueue<Runnable> orphans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger orphanCount = new AtomicInteger(0);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final AtomicInteger waitingTakers = new AtomicInteger(0);
+
+    private final LongAdder steals = new LongAdder();
+
+    private EagerThreadPoolExecutor executor;
+
+    /**
+     * @param shared        外部提交使用的共享队列，容量即对外的队列容量
+     * @param localCapacity 每个 worker 本地队列的容量
+     */
+    public WorkStealingWorkQueue(EagerWorkQueue shared, int localCapacity) {
+        if (localCapacity <= 0) {
+            throw new IllegalArgumentException("localCapacity must be > 0");
+        }
+        this.shared = Objects.requireNonNull(shared, "shared");
+        this.localCapacity = localCapacity;
+    }
+
+    @Override
+    public void setExecutor(EagerThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void workerStarted(Thread worker) {
+        WorkerDeque deque = new WorkerDeque();
+        synchronized (owners) {
+            owners.put(worker, deque);
+            WorkerDeque[] cur = deques;
+            WorkerDeque[] next = Arrays.copyOf(cur, cur.length + 1);
+            next[cur.length] = deque;
+            deques = next;
+        }
+    }
+
+    @Override
+    public void workerExited(Thread worker) {
+        WorkerDeque deque;
+        synchronized (owners) {
+            deque = owners.remove(worker);
+            if (deque == null) {
+                return;
+            }
+            WorkerDeque[] cur = deques;
+            WorkerDeque[] next = new WorkerDeque[cur.length - 1];
+            int j = 0;
+            for (WorkerDeque d : cur) {
+                if (d != deque) {
+                    next[j++] = d;
+                }
+            }
+            deques = next;
+        }
+        List<Runnable> left = new ArrayList<>();
+        deque.drainTo(left, Integer.MAX_VALUE);
+        if (!left.isEmpty()) {
+            orphans.addAll(left);
+            orphanCount.addAndGet(left.size());
+            signalAll();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        if (executor != null && executor.shouldCreateWorker()) {
+            return false;
+        }
+        return enqueue(task);
+    }
+
+    @Override
+    public boolean offerRejected(Runnable task) {
+        Objects.requireNonNull(task);
+        boolean ok = enqueueShared(task);
+        if (ok && executor != null) {
+            executor.adjustSubmittedTaskCount(1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean offerDirect(Runnable task) {
+        Objects.requireNonNull(task);
+        return enqueue(task);
+    }
+
+    @Override
+    public boolean retryOffer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (executor != null && executor.isShutdown()) {
+            throw new RejectedExecutionException("executor is shutdown");
+        }
+        return offer(task, timeout, unit);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        boolean ok = shared.offer(task, timeout, unit);
+        if (ok) {
+            signal();
+        }
+        return ok;
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        shared.put(task);
+        signal();
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return poll0(false, 0L);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll0(true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public Runnable poll() {
+        Runnable r = tryTakeExternal();
+        if (r != null && executor != null) {
+            executor.adjustSubmittedTaskCount(-1);
+            executor.onEvicted(r);
+        }
+        return r;
+    }
+
+    @Override
+    public Runnable peek() {
+        Runnable r = shared.peek();
+        if (r != null) {
+            return r;
+        }
+        r = orphans.peek();
+        if (r != null) {
+            return r;
+        }
+        for (WorkerDeque d : deques) {
+            r = d.peekFirst();
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        boolean removed = shared.remove(o);
+        if (!removed && orphans.remove(o)) {
+            orphanCount.decrementAndGet();
+            removed = true;
+        }
+        if (!removed) {
+            for (WorkerDeque d : deques) {
+                if (d.remove(o)) {
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        if (removed && executor != null) {
+            executor.adjustSubmittedTaskCount(-1);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        if (shared.contains(o) || orphans.contains(o)) {
+            return true;
+        }
+        for (WorkerDeque d : deques) {
+            if (d.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        drainTo(new ArrayList<>());
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = shared.drainTo(c, maxElements);
+        Runnable r;
+        while (n < maxElements && (r = pollOrphan()) != null) {
+            c.add(r);
+            n++;
+        }
+        for (WorkerDeque d : deques) {
+            if (n >= maxElements) {
+                break;
+            }
+            n += d.drainTo(c, maxElements - n);
+        }
+        if (n > 0 && executor != null) {
+            executor.adjustSubmittedTaskCount(-n);
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long n = (long) shared.size() + orphanCount.get();
+        for (WorkerDeque d : deques) {
+            n += d.size;
+        }
+        return (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 对外的剩余容量即共享队列的剩余容量，本地队列满时会回落到共享队列
+     */
+    @Override
+    public int remainingCapacity() {
+        return shared.remainingCapacity();
+    }
+
+    @Override
+    public int capacity() {
+        return shared.capacity();
+    }
+
+    /**
+     * 调整共享队列的容量，本地队列容量不变
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        shared.setCapacity(capacity);
+    }
+
+    public long getStealCount() {
+        return steals.sum();
+    }
+
+    /**
+     * 弱一致的快照迭代器，仅用于 purge、监控等低频场景
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>(shared);
+        snapshot.addAll(orphans);
+        for (WorkerDeque d : deques) {
+            d.copyTo(snapshot);
+        }
+        Iterator<Runnable> it = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                WorkStealingWorkQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    // worker 线程提交时优先进入自己的本地队列
+    private boolean enqueue(Runnable task) {
+        WorkerDeque own = owners.isEmpty() ? null : owners.get(Thread.currentThread());
+        if (own != null && own.push(task, localCapacity)) {
+            signal();
+            return true;
+        }
+        return enqueueShared(task);
+    }
+
+    private boolean enqueueShared(Runnable task) {
+        boolean ok = shared.offer(task);
+        if (ok) {
+            signal();
+        }
+        return ok;
+    }
+
+    private Runnable tryTake() throws InterruptedException {
+        WorkerDeque own = owners.get(Thread.currentThread());
+        if (own != null) {
+            Runnable r = own.pollLast();
+            if (r != null) {
+                return r;
+            }
+        }
+        Runnable r = shared.poll(0L, TimeUnit.NANOSECONDS);
+        if (r != null) {
+            return r;
+        }
+        r = pollOrphan();
+        if (r != null) {
+            return r;
+        }
+        return steal(own);
+    }
+
+    // 外部调用的无参 poll（如 DiscardOldestPolicy），取最早的任务
+    private Runnable tryTakeExternal() {
+        Runnable r;
+        try {
+            r = shared.poll(0L, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (r != null) {
+            return r;
+        }
+        r = pollOrphan();
+        if (r != null) {
+            return r;
+        }
+        for (WorkerDeque d : deques) {
+            r = d.pollFirst();
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    private Runnable steal(WorkerDeque own) {
+        WorkerDeque[] victims = deques;
+        int n = victims.length;
+        if (n == 0) {
+            return null;
+        }
+        int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            WorkerDeque victim = victims[(start + i) % n];
+            if (victim == own || victim.size == 0) {
+                continue;
+            }
+            Runnable r = victim.pollFirst();
+            if (r != null) {
+                steals.increment();
+                return r;
+            }
+        }
+        return null;
+    }
+
+    private Runnable pollOrphan() {
+        if (orphanCount.get() == 0) {
+            return null;
+        }
+        Runnable r = orphans.poll();
+        if (r != null) {
+            orphanCount.decrementAndGet();
+        }
+        return r;
+    }
+
+    private Runnable poll0(boolean timed, long nanos) throws InterruptedException {
+        Runnable r = tryTake();
+        if (r != null) {
+            return r;
+        }
+        long deadline = timed ? System.nanoTime() + nanos : 0L;
+        lock.lockInterruptibly();
+        try {
+            waitingTakers.incrementAndGet();
+            try {
+                for (;;) {
+                    r = tryTake();
+                    if (r != null) {
+                        return r;
+                    }
+                    if (!timed) {
+                        notEmpty.await();
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return null;
+                    }
+                    notEmpty.awaitNanos(remaining);
+                }
+            } catch (InterruptedException ie) {
+                notEmpty.signal();
+                throw ie;
+            } finally {
+                waitingTakers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 有线程在等待时才加锁唤醒；等待方先登记再复查，配合这里的先入队再读登记数，不会丢失唤醒
+     */
+    private void signal() {
+        if (waitingTakers.get() > 0) {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void signalAll() {
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * worker 本地队列：所有者在尾部存取，窃取者从头部取
+     * 只有所有者与窃取者之间竞争，用对象锁即可；size 为 volatile，窃取前无锁判空
+     */
+    private static final class WorkerDeque {
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private volatile int size;
+
+        synchronized boolean push(Runnable task, int capacity) {
+            if (size >= capacity) {
+                return false;
+            }
+            tasks.addLast(task);
+            size++;
+            return true;
+        }
+
+        Runnable pollLast() {
+            if (size == 0) {
+                return null;
+            }
+            synchronized (this) {
+                Runnable r = tasks.pollLast();
+                if (r != null) {
+                    size--;
+                }
+                return r;
+            }
+        }
+
+        Runnable pollFirst() {
+            if (size == 0) {
+                return null;
+            }
+            synchronized (this) {
+                Runnable r = tasks.pollFirst();
+                if (r != null) {
+                    size--;
+                }
+                return r;
+            }
+        }
+
+        synchronized Runnable peekFirst() {
+            return tasks.peekFirst();
+        }
+
+        synchronized boolean remove(Object o) {
+            boolean removed = tasks.removeFirstOccurrence(o);
+            if (removed) {
+                size--;
+            }
+            return removed;
+        }
+
+        synchronized boolean contains(Object o) {
+            return tasks.contains(o);
+        }
+
+        synchronized int drainTo(Collection<? super Runnable> c, int maxElements) {
+            int n = 0;
+            Runnable r;
+            while (n < maxElements && (r = tasks.pollFirst()) != null) {
+                c.add(r);
+                n++;
+            }
+            size -= n;
+            return n;
+        }
+
+        synchronized void copyTo(Collection<? super Runnable> c) {
+            c.addAll(tasks);
+        }
+    }
+}
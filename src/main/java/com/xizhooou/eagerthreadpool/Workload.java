@@ -0,0 +1,17 @@
+package com.xizhooou.eagerthreadpool;
+
+/**
+ * {@link EagerThreadPoolBuilder#sizeFor(Workload, double)} 的负载类型
+ */
+public enum Workload {
+
+    /**
+     * 计算密集：线程数等于可用 CPU，多出的线程只会增加切换，blockingRatio 必须为 0
+     */
+    CPU_BOUND,
+
+    /**
+     * 含阻塞等待（IO、远程调用、锁）：线程数按 CPU * (1 + 等待时间 / 计算时间) 估算，blockingRatio 必须大于 0
+     */
+    IO_BOUND
+}
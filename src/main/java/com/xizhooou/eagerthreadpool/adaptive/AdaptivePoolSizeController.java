@@ -0,0 +1,174 @@
+package com.xizhooou.eagerthreadpool.adaptive;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.metrics.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 按周期在配置的边界内调整 corePoolSize / maximumPoolSize
+ * - 输入：本周期排队耗时 p99（直方图差分）、拒绝数（rejectedNum 差分 + 拒绝滑动窗口）、利用率 active / maximumPoolSize
+ * - 未开启 latencyTracking 时以“队列非空”代替排队耗时超标
+ * - 每次调整不超过 maxStep，扩容先调 max 再调 core，缩容反之，保证任意时刻 core <= max
+ * - 每次决策回调 listener 并保留最近 HISTORY_SIZE 条
+ * 所有线程池共用一个守护调度线程，线程池 terminated 后自动停止
+ */
+public class AdaptivePoolSizeController {
+
+    static final int HISTORY_SIZE = 64;
+
+    private static final ScheduledExecutorService TICKER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "eager-adaptive-sizer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final EagerThreadPoolExecutor executor;
+    private final AdaptiveSizingConfig config;
+    private final Consumer<PoolSizeDecision> listener;
+
+    private final ArrayDeque<PoolSizeDecision> history = new ArrayDeque<>(HISTORY_SIZE);
+
+    // 以下状态只在调度线程中读写
+    private LatencyHistogram.Snapshot lastQueueWait;
+    private long lastRejected;
+    private int idlePeriods;
+
+    private volatile ScheduledFuture<?> future;
+
+    public AdaptivePoolSizeController(EagerThreadPoolExecutor executor,
+                                      AdaptiveSizingConfig config,
+                                      Consumer<PoolSizeDecision> listener) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.config = Objects.requireNonNull(config, "config");
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (future != null) {
+            return;
+        }
+        lastQueueWait = executor.getQueueWaitSnapshot();
+        lastRejected = executor.getRejectedNum();
+        future = TICKER.scheduleWithFixedDelay(this::tickSafely,
+                config.periodMillis(), config.periodMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        ScheduledFuture<?> f = future;
+        if (f != null) {
+            f.cancel(false);
+        }
+    }
+
+    public AdaptiveSizingConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 最近的调参决策，按时间先后排列
+     */
+    public List<PoolSizeDecision> getRecentDecisions() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    private void tickSafely() {
+        if (executor.isTerminating() || executor.isTerminated()) {
+            stop();
+            return;
+        }
+        try {
+            tick();
+        } catch (RuntimeException ignored) {
+            // 调参失败不影响线程池本身，下个周期重试
+        }
+    }
+
+    void tick() {
+        long waitP99 = -1;
+        LatencyHistogram.Snapshot now = executor.getQueueWaitSnapshot();
+        if (now != null) {
+            waitP99 = (lastQueueWait == null ? now : now.since(lastQueueWait)).p99();
+            lastQueueWait = now;
+        }
+        long rejected = executor.getRejectedNum();
+        long rejectedInPeriod = Math.max(0, rejected - lastRejected);
+        lastRejected = rejected;
+        long rejectedInWindow = executor.getRejectedInLastWindow();
+
+        int core = executor.getCorePoolSize();
+        int max = executor.getMaximumPoolSize();
+        int queueSize = executor.getQueue().size();
+        double utilization = (double) executor.getActiveCount() / Math.max(1, max);
+
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(config.targetQueueWaitMillis());
+        boolean waiting = waitP99 >= 0 ? waitP99 > targetNanos : queueSize > 0;
+        boolean calm = waitP99 >= 0 ? waitP99 <= targetNanos / 2 : queueSize == 0;
+
+        if ((rejectedInPeriod > 0 || waiting) && utilization >= config.highUtilization()) {
+            idlePeriods = 0;
+            int newMax = Math.min(config.maxMaximumPoolSize(), max + config.maxStep());
+            int newCore = Math.min(Math.min(config.maxCorePoolSize(), newMax), core + config.maxStep());
+            String reason = rejectedInPeriod > 0 ? "rejections" : "queueWait";
+            apply(PoolSizeDecision.Direction.UP, reason, core, newCore, max, newMax,
+                    waitP99, rejectedInPeriod, rejectedInWindow, queueSize, utilization);
+            return;
+        }
+
+        if (rejectedInPeriod == 0 && rejectedInWindow == 0 && calm && utilization <= config.lowUtilization()) {
+            if (++idlePeriods < config.scaleDownPeriods()) {
+                return;
+            }
+            idlePeriods = 0;
+            int newCore = Math.max(config.minCorePoolSize(), core - config.maxStep());
+            int newMax = Math.max(Math.max(config.minMaximumPoolSize(), newCore), max - config.maxStep());
+            apply(PoolSizeDecision.Direction.DOWN, "idle", core, newCore, max, newMax,
+                    waitP99, rejectedInPeriod, rejectedInWindow, queueSize, utilization);
+            return;
+        }
+        idlePeriods = 0;
+    }
+
+    private void apply(PoolSizeDecision.Direction direction, String reason,
+                       int core, int newCore, int max, int newMax,
+                       long waitP99, long rejectedInPeriod, long rejectedInWindow,
+                       int queueSize, double utilization) {
+        if (newCore == core && newMax == max) {
+            return;
+        }
+        if (newMax >= max) {
+            executor.setMaximumPoolSize(newMax);
+            executor.setCorePoolSize(newCore);
+        } else {
+            executor.setCorePoolSize(newCore);
+            executor.setMaximumPoolSize(newMax);
+        }
+
+        PoolSizeDecision decision = new PoolSizeDecision(executor.getPoolName(), System.currentTimeMillis(),
+                core, newCore, max, newMax, direction, reason,
+                waitP99, rejectedInPeriod, rejectedInWindow, queueSize, utilization);
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(decision);
+        }
+        if (listener != null) {
+            try {
+                listener.accept(decision);
+            } catch (RuntimeException ignored) {
+                // 回调异常不影响调参
+            }
+        }
+    }
+}
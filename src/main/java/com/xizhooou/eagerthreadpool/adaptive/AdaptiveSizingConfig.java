@@ -0,0 +1,43 @@
+package com.xizhooou.eagerthreadpool.adaptive;
+
+/**
+ * 自适应调参的边界与阈值
+ * - 扩容：本周期有拒绝或排队 p99 超过 targetQueueWaitMillis，且利用率（active / maximumPoolSize）>= highUtilization
+ * - 缩容：本周期与拒绝窗口内都没有拒绝、排队 p99 不超过目标的一半、利用率 <= lowUtilization，连续 scaleDownPeriods 个周期
+ * 两个方向的阈值留有间隔，避免在边界上来回抖动
+ *
+ * @param periodMillis          采样、调整周期
+ * @param targetQueueWaitMillis 排队耗时 p99 目标
+ * @param maxStep               单次调整 core / max 的最大步长
+ * @param scaleDownPeriods      连续满足缩容条件的周期数
+ */
+public record AdaptiveSizingConfig(int minCorePoolSize, int maxCorePoolSize,
+                                   int minMaximumPoolSize, int maxMaximumPoolSize,
+                                   long periodMillis, long targetQueueWaitMillis,
+                                   double highUtilization, double lowUtilization,
+                                   int maxStep, int scaleDownPeriods) {
+    public AdaptiveSizingConfig {
+        if (minCorePoolSize <= 0 || maxCorePoolSize < minCorePoolSize) {
+            throw new IllegalArgumentException("core bounds must satisfy 0 < minCorePoolSize <= maxCorePoolSize");
+        }
+        if (minMaximumPoolSize < minCorePoolSize || maxMaximumPoolSize < minMaximumPoolSize
+                || maxMaximumPoolSize < maxCorePoolSize) {
+            throw new IllegalArgumentException("maximumPoolSize bounds must cover core bounds");
+        }
+        periodMillis = periodMillis <= 0 ? 1000 : periodMillis;
+        targetQueueWaitMillis = targetQueueWaitMillis <= 0 ? 50 : targetQueueWaitMillis;
+        highUtilization = (highUtilization <= 0 || highUtilization > 1) ? 0.8 : highUtilization;
+        lowUtilization = (lowUtilization < 0 || lowUtilization >= highUtilization) ? highUtilization / 3 : lowUtilization;
+        maxStep = Math.max(1, maxStep);
+        scaleDownPeriods = Math.max(1, scaleDownPeriods);
+    }
+
+    /**
+     * 只给边界，其余取默认：1 秒周期、排队目标 50ms、利用率 0.8 / 0.25、步长 2、连续 5 个周期才缩容
+     */
+    public static AdaptiveSizingConfig of(int minCorePoolSize, int maxCorePoolSize,
+                                          int minMaximumPoolSize, int maxMaximumPoolSize) {
+        return new AdaptiveSizingConfig(minCorePoolSize, maxCorePoolSize, minMaximumPoolSize, maxMaximumPoolSize,
+                1000, 50, 0.8, 0.25, 2, 5);
+    }
+}
@@ -0,0 +1,38 @@
+package com.xizhooou.eagerthreadpool.adaptive;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次调参决策及其依据，供审计
+ *
+ * @param atMillis            决策时间（epoch 毫秒）
+ * @param queueWaitP99Nanos   本周期排队耗时 p99；未开启 latencyTracking 时为 -1
+ * @param rejectedInPeriod    本周期拒绝数
+ * @param rejectedInWindow    拒绝滑动窗口内的总数
+ * @param utilization         active / maximumPoolSize
+ */
+public record PoolSizeDecision(String poolName, long atMillis,
+                               int oldCorePoolSize, int newCorePoolSize,
+                               int oldMaximumPoolSize, int newMaximumPoolSize,
+                               Direction direction, String reason,
+                               long queueWaitP99Nanos, long rejectedInPeriod, long rejectedInWindow,
+                               int queueSize, double utilization) {
+
+    public enum Direction {
+        UP, DOWN
+    }
+
+    @Override
+    public String toString() {
+        return "pool=" + poolName
+                + ", " + direction
+                + ", core " + oldCorePoolSize + " -> " + newCorePoolSize
+                + ", max " + oldMaximumPoolSize + " -> " + newMaximumPoolSize
+                + ", reason=" + reason
+                + ", queueWaitP99=" + (queueWaitP99Nanos < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMicros(queueWaitP99Nanos) + "us")
+                + ", rejected(period)=" + rejectedInPeriod
+                + ", rejected(window)=" + rejectedInWindow
+                + ", queueSize=" + queueSize
+                + ", utilization=" + String.format("%.2f", utilization);
+    }
+}
@@ -0,0 +1,243 @@
+package com.xizhooou.eagerthreadpool.alert;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 告警发送调度：业务线程只做一次非阻塞 offer，发送全部在一个守护线程上完成
+ * - 有界发送队列，满了直接丢弃并计数，拒绝风暴时不会堆积内存、不会阻塞业务线程
+ * - 收到第一条告警后等待一个合并间隔，间隔内投给同一个 sink 的告警（来自任意线程池）合成一次 send
+ * - send 失败按指数退避重试，重试期间新到的告警并入同一批，超过最大次数丢弃
+ * - 发送线程在第一次投递时才启动
+ */
+public final class AlertDispatcher {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    // 企业微信机器人限制每分钟 20 条，默认 3 秒合并一次
+    private static final long DEFAULT_COALESCE_MILLIS = 3000;
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long DEFAULT_MAX_BACKOFF_MILLIS = 30_000;
+
+    private final BlockingQueue<Envelope> queue;
+    private final int queueCapacity;
+    private final long coalesceMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private volatile Thread sender;
+    private volatile boolean closed;
+
+    private final LongAdder sentNum = new LongAdder();
+    private final LongAdder droppedNum = new LongAdder();
+    private final LongAdder retryNum = new LongAdder();
+
+    public AlertDispatcher(int queueCapacity, long coalesceMillis, int maxAttempts,
+                           long initialBackoffMillis, long maxBackoffMillis) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be > 0");
+        }
+        if (coalesceMillis < 0) {
+            throw new IllegalArgumentException("coalesceMillis must be >= 0");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be > 0");
+        }
+        if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("backoff must satisfy 0 <= initial <= max");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.coalesceMillis = coalesceMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    private static final class Holder {
+        private static final AlertDispatcher INSTANCE = new AlertDispatcher(
+                DEFAULT_QUEUE_CAPACITY, DEFAULT_COALESCE_MILLIS, DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * 所有线程池共用的实例
+     */
+    public static AlertDispatcher shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 投递一条告警，不阻塞
+     *
+     * @return false 表示队列已满或已关闭，告警被丢弃
+     */
+    public boolean publish(AlertSink sink, AlertEvent event) {
+        Objects.requireNonNull(sink, "sink");
+        Objects.requireNonNull(event, "event");
+        if (sender == null) {
+            start();
+        }
+        if (closed || !queue.offer(new Envelope(sink, event))) {
+            droppedNum.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 停止发送线程，未发送的告警丢弃；共享实例不应调用
+     */
+    public synchronized void shutdown() {
+        closed = true;
+        if (sender != null) {
+            sender.interrupt();
+        }
+    }
+
+    /**
+     * 成功发出的消息数（合并后的条数）
+     */
+    public long getSentNum() {
+        return sentNum.sum();
+    }
+
+    /**
+     * 因队列满、重试耗尽或已关闭而丢弃的告警数
+     */
+    public long getDroppedNum() {
+        return droppedNum.sum();
+    }
+
+    public long getRetryNum() {
+        return retryNum.sum();
+    }
+
+    public int getQueuedNum() {
+        return queue.size();
+    }
+
+    private synchronized void start() {
+        if (sender != null || closed) {
+            return;
+        }
+        Thread t = new Thread(this::runLoop, "eager-alert-dispatcher");
+        t.setDaemon(true);
+        t.start();
+        sender = t;
+    }
+
+    private void runLoop() {
+        // 按 sink 分组的待发批次，保持先到先发
+        Map<AlertSink, Batch> pending = new LinkedHashMap<>();
+        List<Envelope> drained = new ArrayList<>();
+        try {
+            while (!closed) {
+                Envelope first;
+                if (pending.isEmpty()) {
+                    first = queue.take();
+                } else {
+                    long wait = earliestDue(pending) - System.nanoTime();
+                    first = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                }
+                if (first != null) {
+                    if (coalesceMillis > 0) {
+                        Thread.sleep(coalesceMillis);
+                    }
+                    drained.add(first);
+                    queue.drainTo(drained);
+                    long now = System.nanoTime();
+                    for (Envelope e : drained) {
+                        pending.computeIfAbsent(e.sink, s -> new Batch(now)).add(e.event);
+                    }
+                    drained.clear();
+                }
+                flushDue(pending);
+            }
+        } catch (InterruptedException ignored) {
+            // shutdown
+        }
+        for (Batch b : pending.values()) {
+            droppedNum.add(b.events.size());
+        }
+        droppedNum.add(queue.size());
+        queue.clear();
+    }
+
+    private void flushDue(Map<AlertSink, Batch> pending) throws InterruptedException {
+        Iterator<Map.Entry<AlertSink, Batch>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<AlertSink, Batch> entry = it.next();
+            Batch batch = entry.getValue();
+            long now = System.nanoTime();
+            if (now - batch.dueAtNanos < 0) {
+                continue;
+            }
+            try {
+                entry.getKey().send(List.copyOf(batch.events));
+                sentNum.increment();
+                it.remove();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable t) {
+                // 告警失败不能影响发送线程本身
+                batch.attempts++;
+                if (batch.attempts >= maxAttempts) {
+                    droppedNum.add(batch.events.size());
+                    it.remove();
+                } else {
+                    retryNum.increment();
+                    batch.dueAtNanos = now + TimeUnit.MILLISECONDS.toNanos(backoffMillis(batch.attempts));
+                }
+            }
+        }
+    }
+
+    private long backoffMillis(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(maxBackoffMillis, initialBackoffMillis << shift);
+    }
+
+    private static long earliestDue(Map<AlertSink, Batch> pending) {
+        long min = 0;
+        boolean first = true;
+        for (Batch b : pending.values()) {
+            if (first || b.dueAtNanos - min < 0) {
+                min = b.dueAtNanos;
+                first = false;
+            }
+        }
+        return min;
+    }
+
+    private record Envelope(AlertSink sink, AlertEvent event) {
+    }
+
+    private final class Batch {
+        private final List<AlertEvent> events = new ArrayList<>();
+        private long dueAtNanos;
+        private int attempts;
+
+        private Batch(long dueAtNanos) {
+            this.dueAtNanos = dueAtNanos;
+        }
+
+        // 重试积压时单批最多保留 queueCapacity 条
+        private void add(AlertEvent event) {
+            if (events.size() >= queueCapacity) {
+                droppedNum.increment();
+                return;
+            }
+            events.add(event);
+        }
+    }
+}
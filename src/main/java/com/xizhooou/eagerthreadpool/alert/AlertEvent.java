@@ -0,0 +1,12 @@
+package com.xizhooou.eagerthreadpool.alert;
+
+/**
+ * 一次告警
+ *
+ * @param source      来源，一般是线程池名
+ * @param title       标题
+ * @param content     正文
+ * @param timestampMs 产生时间
+ */
+public record AlertEvent(String source, String title, String content, long timestampMs) {
+}
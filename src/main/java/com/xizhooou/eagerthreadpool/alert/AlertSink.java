@@ -0,0 +1,14 @@
+package com.xizhooou.eagerthreadpool.alert;
+
+import java.util.List;
+
+/**
+ * 告警发送 SPI，由 {@link AlertDispatcher} 的发送线程调用，不会在业务线程上执行
+ * - 一次 send 对应一条外发消息，events 是合并间隔内投递给同一个 sink 的所有告警（可能来自多个线程池）
+ * - 抛出异常表示发送失败，由 dispatcher 退避重试；sink 自身不需要重试
+ * - 合并按 sink 的 equals/hashCode 分组，指向同一目标的 sink 应实现为相等
+ */
+public interface AlertSink {
+
+    void send(List<AlertEvent> events) throws Exception;
+}
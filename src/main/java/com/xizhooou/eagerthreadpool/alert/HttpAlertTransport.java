@@ -0,0 +1,54 @@
+package com.xizhooou.eagerthreadpool.alert;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 告警共用的 HTTP 通道：所有 sink 共享一个 HttpClient（连接池、selector 线程只有一份），首次使用时才创建
+ */
+public final class HttpAlertTransport {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient client;
+
+    private HttpAlertTransport() {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+
+    private static final class Holder {
+        private static final HttpAlertTransport INSTANCE = new HttpAlertTransport();
+    }
+
+    public static HttpAlertTransport shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 同步 POST 一段 JSON，非 2xx 抛出 IOException
+     *
+     * @return 响应体
+     */
+    public String postJson(String url, String json) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build();
+        HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        int status = resp.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("alert webhook returned HTTP " + status);
+        }
+        return resp.body();
+    }
+}
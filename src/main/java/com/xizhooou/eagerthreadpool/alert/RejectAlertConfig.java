@@ -4,17 +4,20 @@ package com.xizhooou.eagerthreadpool.alert;
  * @param thresholdPerMinute 1分钟内拒绝 >= N 报警
  * @param cooldownMillis     防刷屏：两次报警最短间隔
  * @param windowSeconds      ring buffer 参数 默认 60
- * @param bucketSeconds      默认 5（12桶）
+ * @param bucketSeconds      已不再使用，计数桶固定为 1 秒，仅为兼容保留
+ * @param sink               自定义告警 sink，null 时按 weComWebhookUrl 使用企业微信机器人
  */
 public record RejectAlertConfig(boolean weComEnabled, String weComWebhookUrl, long thresholdPerMinute,
-                                long cooldownMillis, int windowSeconds, int bucketSeconds, int maxMessageChars) {
+                                long cooldownMillis, int windowSeconds, int bucketSeconds, int maxMessageChars,
+                                AlertSink sink) {
     public RejectAlertConfig(boolean weComEnabled,
                              String weComWebhookUrl,
                              long thresholdPerMinute,
                              long cooldownMillis,
                              int windowSeconds,
                              int bucketSeconds,
-                             int maxMessageChars) {
+                             int maxMessageChars,
+                             AlertSink sink) {
         this.weComEnabled = weComEnabled;
         this.weComWebhookUrl = weComWebhookUrl == null ? "" : weComWebhookUrl;
         this.thresholdPerMinute = Math.max(1, thresholdPerMinute);
@@ -22,6 +25,40 @@ public record RejectAlertConfig(boolean weComEnabled, String weComWebhookUrl, lo
         this.windowSeconds = windowSeconds <= 0 ? 60 : windowSeconds;
         this.bucketSeconds = bucketSeconds <= 0 ? 5 : bucketSeconds;
         this.maxMessageChars = Math.max(200, maxMessageChars);
+        this.sink = sink;
+    }
+
+    public RejectAlertConfig(boolean weComEnabled,
+                             String weComWebhookUrl,
+                             long thresholdPerMinute,
+                             long cooldownMillis,
+                             int windowSeconds,
+                             int bucketSeconds,
+                             int maxMessageChars) {
+        this(weComEnabled, weComWebhookUrl, thresholdPerMinute, cooldownMillis, windowSeconds, bucketSeconds,
+                maxMessageChars, null);
+    }
+
+    public boolean hasSink() {
+        return sink != null || !weComWebhookUrl.isBlank();
+    }
+
+    /**
+     * 复制一份，替换阈值类参数；webhook、sink 与窗口大小不变
+     */
+    public RejectAlertConfig withThresholds(long thresholdPerMinute, long cooldownMillis, int maxMessageChars) {
+        return new RejectAlertConfig(weComEnabled, weComWebhookUrl, thresholdPerMinute, cooldownMillis,
+                windowSeconds, bucketSeconds, maxMessageChars, sink);
+    }
+
+    /**
+     * 实际使用的 sink：优先自定义 sink，其次企业微信；都没有时返回 null
+     */
+    public AlertSink resolveSink() {
+        if (sink != null) {
+            return sink;
+        }
+        return weComWebhookUrl.isBlank() ? null : new WeComAlertSink(weComWebhookUrl);
     }
 
     public static RejectAlertConfig disabled() {
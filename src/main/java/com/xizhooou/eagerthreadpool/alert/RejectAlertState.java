@@ -7,10 +7,17 @@ public class RejectAlertState {
     private final AtomicBoolean enabled;
     private final RollingWindowCounter rollingCounter;
     private final AtomicLong lastAlertAtMs = new AtomicLong(0);
+    // 当前生效的告警配置，运行时可替换；null 表示使用拒绝策略构造时传入的配置
+    private volatile RejectAlertConfig config;
 
     public RejectAlertState(boolean enabled, RollingWindowCounter rollingCounter) {
+        this(enabled, rollingCounter, null);
+    }
+
+    public RejectAlertState(boolean enabled, RollingWindowCounter rollingCounter, RejectAlertConfig config) {
         this.enabled = new AtomicBoolean(enabled);
         this.rollingCounter = rollingCounter;
+        this.config = config;
     }
 
     public boolean isEnabled() {
@@ -25,6 +32,14 @@ public class RejectAlertState {
         return rollingCounter;
     }
 
+    public RejectAlertConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(RejectAlertConfig config) {
+        this.config = config;
+    }
+
     public AtomicLong getLastAlertAtMs() {
         return lastAlertAtMs;
     }
@@ -1,72 +1,166 @@
 package com.xizhooou.eagerthreadpool.alert;
 
+import com.xizhooou.eagerthreadpool.metrics.CoarseClock;
+
 import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * 分桶 ring buffer 的滑动窗口计数器
- * - windowSeconds=60, bucketSeconds=5 => 12 buckets
- * - increment(): 当前桶 +1
- * - sumLastWindow(): 求最近窗口内的和
+ * 分段、多粒度的滑动窗口计数器，可用于拒绝、接收、完成等任意事件
+ * - 同时维护秒级环（至少 60 个 1 秒桶）与分钟级环（60 个 1 分钟桶），可查最近 1 秒 / 1 分钟 / 1 小时
+ * - 每个桶是一个 long：高 32 位为桶的时间编号（epoch），低 32 位为计数；过期桶的重置与计数在同一次 CAS 中完成，不会丢失计数
+ * - 按线程分段，每段一套完整的环，写入只竞争本段；读取时汇总各段
+ * - 时间取自 {@link CoarseClock}，写入路径不调用 System.currentTimeMillis()
  */
 public class RollingWindowCounter {
-    private final int buckets;            // 桶个数
-    private final int bucketSeconds;      // 每桶覆盖的秒数
-    private final long windowSlots;       // 窗口的槽数
-    private final AtomicLongArray slot;   // 每个桶对应的 timeSlot
-    private final AtomicLongArray count;  // 每个桶的计数
 
-    public RollingWindowCounter(int windowSeconds, int bucketSeconds) {
+    private static final int MIN_SECOND_BUCKETS = 60;
+    private static final int MAX_WINDOW_SECONDS = 3600;
+    private static final int MINUTE_BUCKETS = 60;
+    private static final int MAX_STRIPES = 16;
+    // ratePerSecond() 默认的平均窗口
+    private static final int DEFAULT_RATE_SECONDS = 10;
+
+    private final int windowSeconds;
+    // 比可查询的最大窗口多一个桶，当前未走完的桶不占用完整窗口
+    private final int secondSlots;
+    private final int minuteSlots = MINUTE_BUCKETS + 1;
+    private final int stride;
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public RollingWindowCounter() {
+        this(60);
+    }
+
+    public RollingWindowCounter(int windowSeconds) {
         if (windowSeconds <= 0) {
             windowSeconds = 60;
         }
-        if (bucketSeconds <= 0) {
-            bucketSeconds = 5;
-        }
-        if (windowSeconds % bucketSeconds != 0) {
-            // 简化：不整除就默认回退
-            windowSeconds = 60;
-            bucketSeconds = 5;
-        }
+        this.windowSeconds = Math.min(windowSeconds, MAX_WINDOW_SECONDS);
+        this.secondSlots = Math.max(MIN_SECOND_BUCKETS, this.windowSeconds) + 1;
+        this.stride = secondSlots + minuteSlots;
 
-        this.buckets = windowSeconds / bucketSeconds;
-        this.bucketSeconds = bucketSeconds;
-        this.windowSlots = buckets;
-
-        this.slot = new AtomicLongArray(buckets);
-        this.count = new AtomicLongArray(buckets);
-        for (int i = 0; i < buckets; i++) {
-            slot.set(i, -1);
-            count.set(i, 0);
+        int n = 1;
+        while (n < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+            n <<= 1;
         }
+        this.mask = n - 1;
+        this.cells = new AtomicLongArray(n * stride);
+    }
+
+    /**
+     * 兼容旧的构造参数：桶固定为 1 秒，bucketSeconds 不再使用
+     * @deprecated bucketSeconds 被忽略，改用 {@link #RollingWindowCounter(int)}
+     */
+    @Deprecated
+    public RollingWindowCounter(int windowSeconds, int bucketSeconds) {
+        this(windowSeconds);
     }
 
     public void increment() {
-        long nowSec = System.currentTimeMillis() / 1000L;
-        long nowSlot = nowSec / bucketSeconds;
-        int idx = (int) (nowSlot % buckets);
+        add(1);
+    }
 
-        long prev = slot.get(idx);
-        if (prev != nowSlot && slot.compareAndSet(idx, prev, nowSlot)) {
-            count.set(idx, 0);
+    /**
+     * 当前桶加 delta，允许为负（如撤销一次计数）
+     */
+    public void add(int delta) {
+        if (delta == 0) {
+            return;
         }
-        count.incrementAndGet(idx);
+        long nowMs = CoarseClock.currentTimeMillis();
+        long second = nowMs / 1000L;
+        long minute = nowMs / 60_000L;
+        int base = stripeBase();
+        addTo(base + (int) (second % secondSlots), second, delta);
+        addTo(base + secondSlots + (int) (minute % minuteSlots), minute, delta);
     }
 
+    /**
+     * 构造时指定窗口内的总数，包含当前未走完的 1 秒
+     */
     public long sumLastWindow() {
-        long nowSec = System.currentTimeMillis() / 1000L;
-        long nowSlot = nowSec / bucketSeconds;
+        return sumLastSeconds(windowSeconds);
+    }
 
-        long sum = 0;
-        for (int i = 0; i < buckets; i++) {
-            long s = slot.get(i);
-            if (s < 0) {
-                continue;
+    /**
+     * 最近 seconds 秒（含当前未走完的 1 秒）的总数
+     */
+    public long sumLastSeconds(int seconds) {
+        int n = Math.max(0, Math.min(seconds, secondSlots - 1));
+        long now = CoarseClock.currentTimeMillis() / 1000L;
+        return sumRange(0, now, 0, n, secondSlots);
+    }
+
+    public long sumLastMinute() {
+        return sumLastSeconds(60);
+    }
+
+    /**
+     * 最近 60 分钟（含当前未走完的 1 分钟）的总数
+     */
+    public long sumLastHour() {
+        long now = CoarseClock.currentTimeMillis() / 60_000L;
+        return sumRange(secondSlots, now, 0, MINUTE_BUCKETS, minuteSlots);
+    }
+
+    /**
+     * 最近 10 个完整秒的平均每秒次数
+     */
+    public double ratePerSecond() {
+        return ratePerSecond(DEFAULT_RATE_SECONDS);
+    }
+
+    /**
+     * 最近 seconds 个完整秒（不含当前未走完的 1 秒）的平均每秒次数
+     */
+    public double ratePerSecond(int seconds) {
+        int n = Math.max(1, Math.min(seconds, secondSlots - 1));
+        long now = CoarseClock.currentTimeMillis() / 1000L;
+        return (double) sumRange(0, now, 1, n + 1, secondSlots) / n;
+    }
+
+    private void addTo(int idx, long epoch, int delta) {
+        for (;;) {
+            long v = cells.get(idx);
+            long e = v >>> 32;
+            // e > epoch：其他线程读到的时钟更新，计入它推进后的桶，不丢弃
+            long next = (e < epoch) ? pack(epoch, delta) : pack(e, (int) v + delta);
+            if (cells.compareAndSet(idx, v, next)) {
+                return;
             }
-            long age = nowSlot - s;
-            if (age >= 0 && age < windowSlots) {
-                sum += count.get(i);
+        }
+    }
+
+    // 汇总各段中 age 属于 [fromAge, toAge) 的桶
+    private long sumRange(int offset, long now, int fromAge, int toAge, int slots) {
+        long sum = 0;
+        for (int s = 0; s <= mask; s++) {
+            int base = s * stride + offset;
+            for (int age = fromAge; age < toAge; age++) {
+                long epoch = now - age;
+                if (epoch < 0) {
+                    break;
+                }
+                long v = cells.get(base + (int) (epoch % slots));
+                if ((v >>> 32) == epoch) {
+                    sum += (int) v;
+                }
             }
         }
         return sum;
     }
+
+    private static long pack(long epoch, int count) {
+        return (epoch << 32) | (count & 0xFFFFFFFFL);
+    }
+
+    private int stripeBase() {
+        if (mask == 0) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & mask) * stride;
+    }
 }
@@ -0,0 +1,131 @@
+package com.xizhooou.eagerthreadpool.alert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 企业微信群机器人 sink：合并后的多条告警拼成一条 text 消息
+ * - 机器人 text 内容上限 2048 字节，超出部分截断
+ * - HTTP 200 但 errcode != 0（如触发频率限制）同样视为失败，交给 dispatcher 重试
+ * - 相同 webhookUrl 的实例相等，多个线程池配置同一个机器人时告警会合并
+ */
+public final class WeComAlertSink implements AlertSink {
+
+    private static final int MAX_CONTENT_BYTES = 2048;
+    private static final String TRUNCATED = "\n...truncated...";
+    private static final Pattern ERRCODE = Pattern.compile("\"errcode\"\\s*:\\s*(-?\\d+)");
+
+    private final String webhookUrl;
+    private final HttpAlertTransport transport;
+
+    public WeComAlertSink(String webhookUrl) {
+        if (webhookUrl == null || webhookUrl.isBlank()) {
+            throw new IllegalArgumentException("webhookUrl must not be blank");
+        }
+        this.webhookUrl = webhookUrl.trim();
+        this.transport = HttpAlertTransport.shared();
+    }
+
+    @Override
+    public void send(List<AlertEvent> events) throws Exception {
+        if (events.isEmpty()) {
+            return;
+        }
+        String text = truncate(render(events));
+        String payload = "{\"msgtype\":\"text\",\"text\":{\"content\":" + jsonQuote(text) + "}}";
+        String body = transport.postJson(webhookUrl, payload);
+
+        Matcher m = ERRCODE.matcher(body == null ? "" : body);
+        if (m.find() && !"0".equals(m.group(1))) {
+            throw new IOException("wecom webhook rejected alert: " + body);
+        }
+    }
+
+    public String getWebhookUrl() {
+        return webhookUrl;
+    }
+
+    private static String render(List<AlertEvent> events) {
+        if (events.size() == 1) {
+            AlertEvent e = events.get(0);
+            return "【" + e.title() + "】\n" + e.content();
+        }
+        Set<String> sources = new LinkedHashSet<>();
+        for (AlertEvent e : events) {
+            sources.add(e.source());
+        }
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("【").append(events.get(0).title()).append("】")
+                .append(events.size()).append(" 条，来自 ").append(sources.size()).append(" 个线程池\n");
+        for (AlertEvent e : events) {
+            sb.append("----\n").append(e.content());
+            if (!e.content().endsWith("\n")) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    // 按 UTF-8 字节截断，不拆开多字节字符
+    private static String truncate(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_CONTENT_BYTES) {
+            return text;
+        }
+        int budget = MAX_CONTENT_BYTES - TRUNCATED.getBytes(StandardCharsets.UTF_8).length;
+        int used = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int cp = text.codePointAt(end);
+            int len = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (used + len > budget) {
+                break;
+            }
+            used += len;
+            end += Character.charCount(cp);
+        }
+        return text.substring(0, end) + TRUNCATED;
+    }
+
+    // 换行保留、回车去掉，其余 0x20 以下的控制字符（如堆栈里的 tab）按 JSON 的 unicode 形式转义，否则机器人会一直拒绝
+    private static String jsonQuote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 16).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\r' -> { }
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeComAlertSink other && webhookUrl.equals(other.webhookUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return webhookUrl.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "WeComAlertSink";
+    }
+}
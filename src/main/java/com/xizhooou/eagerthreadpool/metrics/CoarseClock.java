@@ -0,0 +1,51 @@
+package com.xizhooou.eagerthreadpool.metrics;
+
+/**
+ * 粗粒度时钟：守护线程每 TICK_MILLIS 刷新一次墙上时间，读取只是一次 volatile 读
+ * 用于秒级以上的计数窗口，热点路径上不再调用 System.currentTimeMillis()
+ * 刷新线程按需启动：只有在每个任务上计数的使用方（throughputTracking）调用 {@link #start()}，未启动时直接读系统时间
+ */
+public final class CoarseClock {
+
+    private static final long TICK_MILLIS = 10;
+
+    // 0 表示刷新线程未启动
+    private static volatile long now;
+
+    private CoarseClock() {
+    }
+
+    /**
+     * 启动刷新线程，重复调用无副作用
+     */
+    public static void start() {
+        if (now != 0) {
+            return;
+        }
+        synchronized (CoarseClock.class) {
+            if (now != 0) {
+                return;
+            }
+            now = System.currentTimeMillis();
+            Thread ticker = new Thread(CoarseClock::tick, "eager-coarse-clock");
+            ticker.setDaemon(true);
+            ticker.start();
+        }
+    }
+
+    public static long currentTimeMillis() {
+        long t = now;
+        return t != 0 ? t : System.currentTimeMillis();
+    }
+
+    private static void tick() {
+        for (;;) {
+            now = System.currentTimeMillis();
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException ignored) {
+                // 守护线程随 JVM 退出，忽略中断继续刷新
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.xizhooou.eagerthreadpool.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的对数分桶直方图（HdrHistogram 风格的 log-linear 分桶），单位纳秒
+ * - 小于 64 的值每个值一个桶；之后每个 2 的幂区间再均分为 32 个子桶，相对误差不超过 1/32
+ * - record() 只有一次 getAndIncrement（最大值变大时多一次 CAS），不分配对象
+ * - snapshot() 拷贝一份桶计数，分位数在快照上计算
+ * - cumulativeCounts() 直接在实时桶上按给定边界累加，供高频导出使用，不分配对象
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_SUB_COUNT = SUB_COUNT >> 1;
+    // 最高位最大为 62（Long.MAX_VALUE）
+    private static final int BUCKETS = SUB_COUNT + (62 - SUB_BITS + 1) * HALF_SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong(0);
+    private final LongAdder sum = new LongAdder();
+
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.getAndIncrement(bucketIndex(v));
+        sum.add(v);
+        long cur = max.get();
+        while (v > cur && !max.compareAndSet(cur, v)) {
+            cur = max.get();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            copy[i] = c;
+            total += c;
+        }
+        return new Snapshot(copy, total, max.get());
+    }
+
+    /**
+     * 所有样本之和，纳秒
+     */
+    public long sumNanos() {
+        return sum.sum();
+    }
+
+    /**
+     * 按升序边界统计 <= 每个边界的样本数（Prometheus 的 le 语义），写入 out
+     * 桶上界不超过边界的桶才计入，边界落在桶内部时该桶计入下一个边界
+     *
+     * @return 样本总数，即 +Inf 桶
+     */
+    public long cumulativeCounts(long[] upperBoundsNanos, long[] out) {
+        long seen = 0;
+        int b = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c == 0) {
+                continue;
+            }
+            long upper = bucketUpperBound(i);
+            while (b < upperBoundsNanos.length && upper > upperBoundsNanos[b]) {
+                out[b++] = seen;
+            }
+            seen += c;
+        }
+        while (b < upperBoundsNanos.length) {
+            out[b++] = seen;
+        }
+        return seen;
+    }
+
+    static int bucketIndex(long v) {
+        if (v < SUB_COUNT) {
+            return (int) v;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - SUB_BITS + 1;
+        int mantissa = (int) (v >>> shift);
+        return SUB_COUNT + (shift - 1) * HALF_SUB_COUNT + (mantissa - HALF_SUB_COUNT);
+    }
+
+    // 桶内的最大值，分位数取桶上界，保证不会低估
+    static long bucketUpperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / HALF_SUB_COUNT + 1;
+        long mantissa = (index - SUB_COUNT) % HALF_SUB_COUNT + HALF_SUB_COUNT;
+        long upper = ((mantissa + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * 某一时刻的直方图拷贝
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @param quantile 0 ~ 1
+         * @return 纳秒；没有样本时为 0
+         */
+        public long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            double q = Math.min(1.0, Math.max(0.0, quantile));
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        public long p50() {
+            return percentile(0.50);
+        }
+
+        public long p99() {
+            return percentile(0.99);
+        }
+
+        public long p999() {
+            return percentile(0.999);
+        }
+
+        public long max() {
+            return max;
+        }
+
+        /**
+         * 两次快照之间新增的样本，用于按周期观察
+         * 区间内的最大值取最高非空桶的上界
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            long total = 0;
+            long intervalMax = 0;
+            for (int i = 0; i < counts.length; i++) {
+                long d = Math.max(0, counts[i] - earlier.counts[i]);
+                diff[i] = d;
+                total += d;
+                if (d > 0) {
+                    intervalMax = bucketUpperBound(i);
+                }
+            }
+            return new Snapshot(diff, total, Math.min(intervalMax, max));
+        }
+
+        /**
+         * 供导出使用：按桶上界遍历非空桶
+         */
+        public void forEachBucket(BucketVisitor visitor) {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    visitor.visit(bucketUpperBound(i), counts[i]);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count
+                    + ", p50=" + TimeUnit.NANOSECONDS.toMicros(p50()) + "us"
+                    + ", p99=" + TimeUnit.NANOSECONDS.toMicros(p99()) + "us"
+                    + ", p999=" + TimeUnit.NANOSECONDS.toMicros(p999()) + "us"
+                    + ", max=" + TimeUnit.NANOSECONDS.toMicros(max) + "us";
+        }
+    }
+
+    @FunctionalInterface
+    public interface BucketVisitor {
+        void visit(long upperBoundNanos, long count);
+    }
+}
@@ -0,0 +1,223 @@
+package com.xizhooou.eagerthreadpool.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.registry.EagerThreadPoolRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 内嵌的 Prometheus 文本格式（0.0.4）导出端点，基于 JDK 自带的 com.sun.net.httpserver
+ * - 导出 {@link EagerThreadPoolRegistry} 中所有线程池，按 pool 标签区分
+ * - 每次抓取渲染到同一个复用缓冲，数值直接读取线程池的无锁计数与实时直方图桶，不创建快照对象
+ * - 抓取串行执行，HttpServer 使用单个分发线程
+ */
+public final class PrometheusMetricsServer implements AutoCloseable {
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PREFIX = "eager_threadpool_";
+
+    // 直方图边界，单位秒
+    private static final String[] LATENCY_BOUNDS = {
+            "0.00005", "0.0001", "0.00025", "0.0005", "0.001", "0.0025", "0.005", "0.01",
+            "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"
+    };
+    private static final long[] LATENCY_BOUNDS_NANOS = {
+            50_000L, 100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L,
+            25_000_000L, 50_000_000L, 100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L,
+            2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    private final HttpServer server;
+    private final EagerThreadPoolRegistry registry;
+
+    // 以下只在持有 this 锁时访问
+    private final TextBuffer out = new TextBuffer(16 * 1024);
+    private final long[] cumulative = new long[LATENCY_BOUNDS_NANOS.length];
+    private final List<String> names = new ArrayList<>();
+    private final List<EagerThreadPoolExecutor> pools = new ArrayList<>();
+
+    private PrometheusMetricsServer(HttpServer server, EagerThreadPoolRegistry registry) {
+        this.server = server;
+        this.registry = registry;
+    }
+
+    public static PrometheusMetricsServer start(int port) throws IOException {
+        return start(new InetSocketAddress(port), EagerThreadPoolRegistry.getInstance());
+    }
+
+    /**
+     * @param address 端口为 0 时随机分配，可通过 {@link #getPort()} 获取
+     */
+    public static PrometheusMetricsServer start(InetSocketAddress address, EagerThreadPoolRegistry registry)
+            throws IOException {
+        Objects.requireNonNull(address, "address");
+        Objects.requireNonNull(registry, "registry");
+        HttpServer server = HttpServer.create(address, 0);
+        PrometheusMetricsServer metrics = new PrometheusMetricsServer(server, registry);
+        server.createContext(PATH, metrics::handle);
+        // null 表示在分发线程上处理，抓取天然串行
+        server.setExecutor(null);
+        server.start();
+        return metrics;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 不经过 HTTP，把当前指标写入 out，可嵌入已有的 HTTP 服务
+     */
+    public synchronized void writeTo(OutputStream os) throws IOException {
+        render();
+        out.writeTo(os);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            synchronized (this) {
+                render();
+                if (head) {
+                    exchange.sendResponseHeaders(200, -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(200, out.length());
+                out.writeTo(exchange.getResponseBody());
+            }
+        }
+    }
+
+    private void render() {
+        out.reset();
+        names.clear();
+        pools.clear();
+        registry.forEach((name, executor) -> {
+            names.add(name);
+            pools.add(executor);
+        });
+        try {
+            gauge("core_size", "Configured core pool size.", EagerThreadPoolExecutor::getCorePoolSize);
+            gauge("max_size", "Configured maximum pool size.", EagerThreadPoolExecutor::getMaximumPoolSize);
+            gauge("pool_size", "Live worker threads.", EagerThreadPoolExecutor::getLiveWorkerCount);
+            gauge("active_threads", "Workers currently running a task.", EagerThreadPoolExecutor::getActiveTaskNum);
+            gauge("queue_size", "Tasks waiting in the work queue.", e -> e.getQueue().size());
+            gauge("queue_remaining_capacity", "Free slots in the work queue.",
+                    e -> e.getQueue().remainingCapacity());
+            gauge("submitted_tasks", "Accepted tasks not yet finished (queued + running).",
+                    EagerThreadPoolExecutor::getSubmittedTaskCount);
+            counter("completed_tasks_total", "Tasks that finished running, including failures.",
+                    EagerThreadPoolExecutor::getCompletedTaskNum);
+            counter("rejected_tasks_total", "Tasks rejected by the pool.", EagerThreadPoolExecutor::getRejectedNum);
+            gauge("rejected_tasks_window", "Tasks rejected within the rolling alert window.",
+                    EagerThreadPoolExecutor::getRejectedInLastWindow);
+            counter("admission_rejected_tasks_total", "Tasks shed by admission control (included in rejected).",
+                    EagerThreadPoolExecutor::getAdmissionRejectedNum);
+            counter("deadline_skipped_tasks_total", "Deadline tasks skipped because they expired in the queue.",
+                    EagerThreadPoolExecutor::getDeadlineSkippedNum);
+            counter("spilled_tasks_total", "Tasks spilled to disk because the work queue was full.",
+                    EagerThreadPoolExecutor::getSpilledNum);
+            gauge("spill_pending_tasks", "Spilled tasks on disk waiting to be replayed.",
+                    EagerThreadPoolExecutor::getSpillPendingNum);
+            histogram("queue_wait_seconds", "Time from submission to start of execution.",
+                    EagerThreadPoolExecutor::getQueueWaitHistogram);
+            histogram("run_time_seconds", "Task execution time.", EagerThreadPoolExecutor::getRunTimeHistogram);
+        } finally {
+            // 不持有已注销线程池的引用
+            names.clear();
+            pools.clear();
+        }
+    }
+
+    private void gauge(String name, String help, ToLongFunction<EagerThreadPoolExecutor> value) {
+        family(name, help, "gauge", value);
+    }
+
+    private void counter(String name, String help, ToLongFunction<EagerThreadPoolExecutor> value) {
+        family(name, help, "counter", value);
+    }
+
+    private void family(String name, String help, String type, ToLongFunction<EagerThreadPoolExecutor> value) {
+        header(name, help, type);
+        for (int i = 0; i < pools.size(); i++) {
+            out.append(PREFIX).append(name);
+            poolLabel(names.get(i));
+            out.append("} ").append(value.applyAsLong(pools.get(i))).append('\n');
+        }
+    }
+
+    private void histogram(String name, String help, Function<EagerThreadPoolExecutor, LatencyHistogram> source) {
+        header(name, help, "histogram");
+        for (int i = 0; i < pools.size(); i++) {
+            LatencyHistogram h = source.apply(pools.get(i));
+            if (h == null) {
+                continue;
+            }
+            String pool = names.get(i);
+            long total = h.cumulativeCounts(LATENCY_BOUNDS_NANOS, cumulative);
+            for (int b = 0; b < LATENCY_BOUNDS.length; b++) {
+                bucket(name, pool, LATENCY_BOUNDS[b], cumulative[b]);
+            }
+            bucket(name, pool, "+Inf", total);
+            out.append(PREFIX).append(name).append("_sum");
+            poolLabel(pool);
+            out.append("} ").appendFixed(h.sumNanos(), 9).append('\n');
+            out.append(PREFIX).append(name).append("_count");
+            poolLabel(pool);
+            out.append("} ").append(total).append('\n');
+        }
+    }
+
+    private void bucket(String name, String pool, String le, long count) {
+        out.append(PREFIX).append(name).append("_bucket");
+        poolLabel(pool);
+        out.append(",le=\"").append(le).append("\"} ").append(count).append('\n');
+    }
+
+    private void header(String name, String help, String type) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    // 输出 {pool="..."，不含右括号，便于追加其他标签
+    private void poolLabel(String pool) {
+        out.append("{pool=\"");
+        for (int i = 0; i < pool.length(); i++) {
+            char c = pool.charAt(i);
+            if (c == '\\') {
+                out.append("\\\\");
+            } else if (c == '"') {
+                out.append("\\\"");
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (Character.isHighSurrogate(c) && i + 1 < pool.length()) {
+                out.append(pool.subSequence(i, i + 2));
+                i++;
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
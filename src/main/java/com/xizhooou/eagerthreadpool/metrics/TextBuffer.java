@@ -0,0 +1,131 @@
+package com.xizhooou.eagerthreadpool.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 可复用的 UTF-8 文本缓冲，追加字符串、整数、定点小数都不分配对象；容量只增不减
+ */
+final class TextBuffer {
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private byte[] buf;
+    private int len;
+
+    TextBuffer(int initialCapacity) {
+        this.buf = new byte[Math.max(64, initialCapacity)];
+    }
+
+    void reset() {
+        len = 0;
+    }
+
+    int length() {
+        return len;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, len);
+    }
+
+    TextBuffer append(char c) {
+        if (c < 0x80) {
+            ensure(1);
+            buf[len++] = (byte) c;
+            return this;
+        }
+        return appendCodePoint(c);
+    }
+
+    TextBuffer append(CharSequence s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf[len++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                appendCodePoint(Character.toCodePoint(c, s.charAt(++i)));
+            } else {
+                appendCodePoint(Character.isSurrogate(c) ? '?' : c);
+            }
+        }
+        return this;
+    }
+
+    TextBuffer append(long v) {
+        if (v == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        ensure(20);
+        if (v < 0) {
+            buf[len++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) {
+            digits++;
+        }
+        int end = len + digits;
+        for (int i = end - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + (v % 10));
+            v /= 10;
+        }
+        len = end;
+        return this;
+    }
+
+    /**
+     * 以 value / 10^scale 的定点形式输出，如 (1500, 3) -> 1.500
+     */
+    TextBuffer appendFixed(long value, int scale) {
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        long unit = POW10[scale];
+        append(value / unit);
+        if (scale > 0) {
+            append('.');
+            long frac = value % unit;
+            for (int i = scale - 1; i >= 0; i--) {
+                append((char) ('0' + (frac / POW10[i]) % 10));
+            }
+        }
+        return this;
+    }
+
+    private TextBuffer appendCodePoint(int cp) {
+        ensure(4);
+        if (cp < 0x800) {
+            buf[len++] = (byte) (0xC0 | (cp >> 6));
+            buf[len++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            buf[len++] = (byte) (0xE0 | (cp >> 12));
+            buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            buf[len++] = (byte) (0xF0 | (cp >> 18));
+            buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (cp & 0x3F));
+        }
+        return this;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, len + extra));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,28 @@
+package com.xizhooou.eagerthreadpool.registry;
+
+/**
+ * 单个线程池的 JMX 视图，ObjectName 为 {@code com.xizhooou.eagerthreadpool:type=EagerThreadPool,name=<注册名>}
+ * 所有属性都是无锁读取
+ */
+public interface EagerThreadPoolMXBean {
+
+    String getPoolName();
+
+    int getCorePoolSize();
+
+    int getMaximumPoolSize();
+
+    int getPoolSize();
+
+    int getActiveCount();
+
+    int getQueueSize();
+
+    int getSubmittedTaskCount();
+
+    long getRejectedCount();
+
+    long getRejectedInLastWindow();
+
+    long getCompletedTaskCount();
+}
@@ -0,0 +1,64 @@
+package com.xizhooou.eagerthreadpool.registry;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+
+final class EagerThreadPoolMXBeanImpl implements EagerThreadPoolMXBean {
+
+    private final String name;
+    private final EagerThreadPoolExecutor executor;
+
+    EagerThreadPoolMXBeanImpl(String name, EagerThreadPoolExecutor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getPoolName() {
+        return name;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return executor.getLiveWorkerCount();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveTaskNum();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public int getSubmittedTaskCount() {
+        return executor.getSubmittedTaskCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return executor.getRejectedNum();
+    }
+
+    @Override
+    public long getRejectedInLastWindow() {
+        return executor.getRejectedInLastWindow();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskNum();
+    }
+}
@@ -0,0 +1,147 @@
+package com.xizhooou.eagerthreadpool.registry;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 全局线程池注册表：builder 构建的线程池按 poolName 注册，线程池 terminated 时自动注销
+ * - 同名线程池仍存活时，后注册的追加 -2、-3 等后缀，注册名唯一
+ * - 每个线程池同时注册为 JMX MXBean；JMX 不可用或注册失败时只跳过 JMX，不影响线程池
+ * - 快照全部是无锁读取，可以高频采集
+ */
+public final class EagerThreadPoolRegistry {
+
+    public static final String JMX_DOMAIN = "com.xizhooou.eagerthreadpool";
+
+    private final Map<String, Entry> pools = new ConcurrentHashMap<>();
+
+    private EagerThreadPoolRegistry() {
+    }
+
+    private static final class Holder {
+        private static final EagerThreadPoolRegistry INSTANCE = new EagerThreadPoolRegistry();
+    }
+
+    public static EagerThreadPoolRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 注册线程池，重复注册同一个实例返回已有的注册名
+     *
+     * @return 实际使用的注册名
+     */
+    public String register(EagerThreadPoolExecutor executor) {
+        Objects.requireNonNull(executor, "executor");
+        String base = executor.getPoolName();
+        for (int i = 1; ; i++) {
+            String name = (i == 1) ? base : base + "-" + i;
+            Entry entry = new Entry(name, executor);
+            Entry existing = pools.putIfAbsent(name, entry);
+            if (existing == null) {
+                entry.registerMBean();
+                return name;
+            }
+            if (existing.executor == executor) {
+                return name;
+            }
+        }
+    }
+
+    /**
+     * 注销线程池，未注册时什么也不做
+     */
+    public void unregister(EagerThreadPoolExecutor executor) {
+        for (Entry entry : pools.values()) {
+            if (entry.executor == executor) {
+                // 先注销 MBean 再释放名字，避免注销掉后来同名线程池的 MBean
+                entry.unregisterMBean();
+                pools.remove(entry.name, entry);
+            }
+        }
+    }
+
+    public Optional<EagerThreadPoolExecutor> get(String name) {
+        Entry entry = pools.get(name);
+        return entry == null ? Optional.empty() : Optional.of(entry.executor);
+    }
+
+    /**
+     * 遍历已注册线程池，不创建快照
+     */
+    public void forEach(BiConsumer<String, EagerThreadPoolExecutor> action) {
+        for (Entry entry : pools.values()) {
+            action.accept(entry.name, entry.executor);
+        }
+    }
+
+    public List<String> names() {
+        return new ArrayList<>(pools.keySet());
+    }
+
+    public Optional<PoolSnapshot> snapshot(String name) {
+        Entry entry = pools.get(name);
+        return entry == null ? Optional.empty() : Optional.of(PoolSnapshot.of(entry.name, entry.executor));
+    }
+
+    /**
+     * 所有已注册线程池的快照
+     */
+    public List<PoolSnapshot> snapshotAll() {
+        List<PoolSnapshot> out = new ArrayList<>(pools.size());
+        for (Entry entry : pools.values()) {
+            out.add(PoolSnapshot.of(entry.name, entry.executor));
+        }
+        return out;
+    }
+
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=EagerThreadPool,name=" + ObjectName.quote(name));
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final EagerThreadPoolExecutor executor;
+        private volatile ObjectName objectName;
+
+        private Entry(String name, EagerThreadPoolExecutor executor) {
+            this.name = name;
+            this.executor = executor;
+        }
+
+        private void registerMBean() {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName on = objectName(name);
+                server.registerMBean(new EagerThreadPoolMXBeanImpl(name, executor), on);
+                objectName = on;
+            } catch (JMException | RuntimeException ignored) {
+                // JMX 只是观测手段
+            }
+        }
+
+        private void unregisterMBean() {
+            ObjectName on = objectName;
+            if (on == null) {
+                return;
+            }
+            objectName = null;
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+            } catch (JMException | RuntimeException ignored) {
+                // 已被注销
+            }
+        }
+    }
+}
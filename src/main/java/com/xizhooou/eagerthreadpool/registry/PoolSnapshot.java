@@ -0,0 +1,49 @@
+package com.xizhooou.eagerthreadpool.registry;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+
+/**
+ * 线程池某一时刻的状态
+ * 各字段都是无锁读取，不获取 mainLock、不遍历 worker；字段之间的读取间隔在微秒级，
+ * 并保证 activeCount <= poolSize <= maximumPoolSize
+ *
+ * @param poolName             注册名
+ * @param timestampMs          采集时间
+ * @param queueSize            队列中等待的任务数
+ * @param submittedTaskCount   已接收未结束的任务数（排队 + 执行中）
+ * @param rejectedCount        累计拒绝数
+ * @param rejectedInLastWindow 滑动窗口内的拒绝数
+ * @param completedTaskCount   累计执行结束的任务数
+ */
+public record PoolSnapshot(String poolName,
+                           long timestampMs,
+                           int corePoolSize,
+                           int maximumPoolSize,
+                           int poolSize,
+                           int activeCount,
+                           int queueSize,
+                           int submittedTaskCount,
+                           long rejectedCount,
+                           long rejectedInLastWindow,
+                           long completedTaskCount) {
+
+    public static PoolSnapshot of(String poolName, EagerThreadPoolExecutor executor) {
+        int max = executor.getMaximumPoolSize();
+        // worker 可能刚被创建、还未计入 liveWorkerCount 就已开始执行任务
+        int active = executor.getActiveTaskNum();
+        int poolSize = Math.min(max, Math.max(active, executor.getLiveWorkerCount()));
+        return new PoolSnapshot(
+                poolName,
+                System.currentTimeMillis(),
+                executor.getCorePoolSize(),
+                max,
+                poolSize,
+                Math.min(active, poolSize),
+                executor.getQueue().size(),
+                executor.getSubmittedTaskCount(),
+                executor.getRejectedNum(),
+                executor.getRejectedInLastWindow(),
+                executor.getCompletedTaskNum()
+        );
+    }
+}
@@ -0,0 +1,161 @@
+package com.xizhooou.eagerthreadpool.reject;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.alert.AlertDispatcher;
+import com.xizhooou.eagerthreadpool.alert.AlertEvent;
+import com.xizhooou.eagerthreadpool.alert.RejectAlertConfig;
+import com.xizhooou.eagerthreadpool.alert.RejectAlertState;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 拒绝策略装饰器：统计拒绝数、触发告警，再交给用户的拒绝策略
+ * 用户策略正常返回（CallerRuns/Discard/DiscardOldest 等）时抵消 execute 中的 +1；抛出异常时由 execute 的 catch 扣减
+ * 用户策略为 {@link DelayedResubmitPolicy} 时先尝试暂存，暂存成功不计拒绝，最终放弃时再计入
+ * 告警只投递到 {@link AlertDispatcher}，HTTP 发送、合并与重试都不在拒绝线程上进行
+ */
+public class AlertingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private final RejectedExecutionHandler target;
+    private final AtomicLong rejectCount;
+    private final EagerThreadPoolExecutor executor;
+    private final String poolName;
+
+    // 报警的初始配置，alertState 中有配置时以后者为准
+    private final RejectAlertConfig alertConfig;
+    // 报警状态
+    private final RejectAlertState alertState;
+    private final AlertDispatcher dispatcher;
+
+    public AlertingRejectedExecutionHandler(RejectedExecutionHandler target,
+                                            AtomicLong rejectCount,
+                                            EagerThreadPoolExecutor executor,
+                                            String poolName,
+                                            RejectAlertConfig alertConfig,
+                                            RejectAlertState alertState) {
+        this.target = (target != null) ? target : new ThreadPoolExecutor.AbortPolicy();
+        this.rejectCount = (rejectCount != null) ? rejectCount : new AtomicLong(0);
+        this.executor = executor;
+        this.poolName = (poolName == null || poolName.isBlank()) ? "eager" : poolName;
+
+        this.alertConfig = alertConfig;
+        this.alertState = alertState;
+        this.dispatcher = AlertDispatcher.shared();
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor tpe) {
+        if (executor != null && executor.getAcceptedCounter() != null) {
+            executor.getAcceptedCounter().add(-1);
+        }
+        RejectedExecutionHandler handler = target;
+        if (target instanceof DelayedResubmitPolicy delayed) {
+            if (delayed.park(r, tpe, this)) {
+                // 暂存等待重投：不计拒绝，也不占 submittedTaskCount，重新入队成功后再补回
+                if (executor != null) {
+                    executor.adjustSubmittedTaskCount(-1);
+                }
+                return;
+            }
+            handler = delayed.getFallback();
+        }
+
+        long totalRejected = rejectCount.incrementAndGet();
+        tryAlert(totalRejected, tpe);
+
+        if (executor == null) {
+            handler.rejectedExecution(r, tpe);
+            return;
+        }
+        executor.runRejectionHandler(handler, r);
+        // 抛出异常时不会走到这里，由 execute 的 catch 扣减
+        executor.adjustSubmittedTaskCount(-1);
+    }
+
+    /**
+     * 暂存的任务最终放弃重投：计入拒绝数、触发告警后交给 fallback
+     * 任务暂存时已撤销计数，这里不再调整 submittedTaskCount 与接收数
+     */
+    void rejectParked(Runnable r, ThreadPoolExecutor tpe, RejectedExecutionHandler fallback) {
+        long totalRejected = rejectCount.incrementAndGet();
+        tryAlert(totalRejected, tpe);
+        if (executor == null) {
+            fallback.rejectedExecution(r, tpe);
+        } else {
+            executor.runRejectionHandler(fallback, r);
+        }
+    }
+
+    public RejectedExecutionHandler getTarget() {
+        return target;
+    }
+
+    private void tryAlert(long totalRejected, ThreadPoolExecutor tpe) {
+        if (alertState == null) {
+            return;
+        }
+        // 窗口计数不受报警开关影响，自适应调参等也依赖它
+        alertState.getRollingCounter().increment();
+
+        // 每次读取当前配置，reconfigure 调整的阈值立即生效
+        RejectAlertConfig live = alertState.getConfig();
+        RejectAlertConfig cfg = (live != null) ? live : alertConfig;
+        if (cfg == null || !cfg.hasSink()) {
+            return;
+        }
+        if (!alertState.isEnabled()) {
+            return;
+        }
+
+        // 窗口内拒绝数没到阈值就 return
+        long lastWindow = alertState.getRollingCounter().sumLastWindow();
+        long N = cfg.thresholdPerMinute();
+        if (lastWindow < N) {
+            return;
+        }
+
+        // 冷却窗口：两次报警至少间隔 cooldownMillis。
+        long now = System.currentTimeMillis();
+        long last = alertState.getLastAlertAtMs().get();
+        if (now - last < cfg.cooldownMillis()) {
+            return;
+        }
+
+        // CAS 保证并发下只有一个线程能成功“抢到报警权”。
+        if (!alertState.getLastAlertAtMs().compareAndSet(last, now)) {
+            return;
+        }
+
+        String msg = buildAlertMessage(cfg, totalRejected, lastWindow, tpe);
+        dispatcher.publish(cfg.resolveSink(), new AlertEvent(poolName, "线程池拒绝告警", msg, now));
+    }
+
+    private String buildAlertMessage(RejectAlertConfig cfg, long totalRejected, long rejectedLastMinute,
+                                     ThreadPoolExecutor tpe) {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("pool=").append(poolName).append('\n');
+        sb.append("rejected(last60s)=").append(rejectedLastMinute)
+                .append(", threshold=").append(cfg.thresholdPerMinute()).append('\n');
+        sb.append("rejected(total)=").append(totalRejected).append('\n');
+
+        if (tpe != null) {
+            sb.append("core=").append(tpe.getCorePoolSize())
+                    .append(", max=").append(tpe.getMaximumPoolSize())
+                    .append(", poolSize=").append(tpe.getPoolSize())
+                    .append(", active=").append(tpe.getActiveCount()).append('\n');
+            if (tpe.getQueue() != null) {
+                sb.append("queueSize=").append(tpe.getQueue().size()).append('\n');
+            }
+            sb.append("submitted=").append(executor != null ? executor.getSubmittedTaskCount() : -1).append('\n');
+            sb.append("completed=").append(tpe.getCompletedTaskCount()).append('\n');
+        }
+
+        String text = sb.toString();
+        if (text.length() > cfg.maxMessageChars()) {
+            text = text.substring(0, cfg.maxMessageChars()) + "\n...truncated...";
+        }
+        return text;
+    }
+}
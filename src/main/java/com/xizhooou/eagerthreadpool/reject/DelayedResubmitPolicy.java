@@ -0,0 +1,276 @@
+package com.xizhooou.eagerthreadpool.reject;
+
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.timer.HashedTimingWheel;
+
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟重投拒绝策略：被拒绝的任务先暂存到时间轮，按指数退避（带抖动）重新放回工作队列，
+ * 让短时突发变成短暂延迟而不是直接失败
+ * - 暂存数有上限，满了或线程池已关闭时直接交给 fallback
+ * - 重投次数用完、或等待期间线程池关闭时放弃，计入拒绝数、触发告警后交给 fallback
+ * - 暂存期间任务不占 submittedTaskCount、不计拒绝；重新入队成功后补回计数
+ * - 放弃时 fallback 在时间轮线程上执行，应当很快返回，因此不允许使用 CallerRunsPolicy；抛出的异常没有调用方可以接收，会被忽略
+ * 只对 {@link EagerThreadPoolExecutor} 生效，其他线程池直接交给 fallback
+ */
+public final class DelayedResubmitPolicy implements RejectedExecutionHandler {
+
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+    private final double jitter;
+    private final int maxParked;
+    private final RejectedExecutionHandler fallback;
+    private final HashedTimingWheel wheel;
+
+    private final AtomicInteger parked = new AtomicInteger();
+    private final LongAdder resubmittedNum = new LongAdder();
+    private final LongAdder retryNum = new LongAdder();
+    private final LongAdder gaveUpNum = new LongAdder();
+
+    private DelayedResubmitPolicy(Builder b) {
+        this.initialDelayNanos = b.initialDelayNanos;
+        this.maxDelayNanos = b.maxDelayNanos;
+        this.maxAttempts = b.maxAttempts;
+        this.jitter = b.jitter;
+        this.maxParked = b.maxParked;
+        this.fallback = b.fallback;
+        this.wheel = b.wheel;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * 不经过拒绝装饰器直接使用时：暂存失败交给 fallback
+     */
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        if (!park(r, executor, null)) {
+            fallback.rejectedExecution(r, executor);
+        }
+    }
+
+    /**
+     * 暂存任务等待重投，成功时调用方需要撤销该任务的 submittedTaskCount
+     * @param decorator 放弃时用于计入拒绝数、触发告警，可以为 null
+     */
+    boolean park(Runnable r, ThreadPoolExecutor executor, AlertingRejectedExecutionHandler decorator) {
+        if (r == null || !(executor instanceof EagerThreadPoolExecutor eager) || eager.isShutdown()) {
+            return false;
+        }
+        for (;;) {
+            int n = parked.get();
+            if (n >= maxParked) {
+                return false;
+            }
+            if (parked.compareAndSet(n, n + 1)) {
+                break;
+            }
+        }
+        try {
+            wheel.newTimeout(new Resubmission(r, eager, decorator), delayNanos(1), TimeUnit.NANOSECONDS);
+        } catch (IllegalStateException e) {
+            // 时间轮已停止
+            parked.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public RejectedExecutionHandler getFallback() {
+        return fallback;
+    }
+
+    /**
+     * 正在等待重投的任务数
+     */
+    public int getParkedNum() {
+        return parked.get();
+    }
+
+    /**
+     * 重新入队成功的任务数
+     */
+    public long getResubmittedNum() {
+        return resubmittedNum.sum();
+    }
+
+    /**
+     * 到期后队列仍满、再次等待的次数
+     */
+    public long getRetryNum() {
+        return retryNum.sum();
+    }
+
+    /**
+     * 重投次数用完或线程池关闭而放弃的任务数
+     */
+    public long getGaveUpNum() {
+        return gaveUpNum.sum();
+    }
+
+    // 第 attempt 次重投前的等待时间：initial * 2^(attempt-1)，不超过 max，再乘以 [1 - jitter, 1 + jitter) 的随机因子
+    long delayNanos(int attempt) {
+        long base = initialDelayNanos;
+        for (int i = 1; i < attempt && base < maxDelayNanos; i++) {
+            base <<= 1;
+        }
+        base = Math.min(base, maxDelayNanos);
+        if (jitter == 0) {
+            return base;
+        }
+        double factor = 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) (base * factor);
+    }
+
+    private final class Resubmission implements Runnable {
+        private final Runnable task;
+        private final EagerThreadPoolExecutor executor;
+        private final AlertingRejectedExecutionHandler decorator;
+        private int attempt = 1;
+
+        Resubmission(Runnable task, EagerThreadPoolExecutor executor, AlertingRejectedExecutionHandler decorator) {
+            this.task = task;
+            this.executor = executor;
+            this.decorator = decorator;
+        }
+
+        // 在时间轮线程上执行
+        @Override
+        public void run() {
+            if (executor.requeue(task)) {
+                parked.decrementAndGet();
+                resubmittedNum.increment();
+                if (executor.getAcceptedCounter() != null) {
+                    executor.getAcceptedCounter().increment();
+                }
+                return;
+            }
+            if (attempt < maxAttempts && !executor.isShutdown()) {
+                attempt++;
+                retryNum.increment();
+                try {
+                    wheel.newTimeout(this, delayNanos(attempt), TimeUnit.NANOSECONDS);
+                    return;
+                } catch (IllegalStateException ignored) {
+                    // 时间轮已停止，放弃
+                }
+            }
+            parked.decrementAndGet();
+            gaveUpNum.increment();
+            try {
+                if (decorator != null) {
+                    decorator.rejectParked(task, executor, fallback);
+                } else {
+                    fallback.rejectedExecution(task, executor);
+                }
+            } catch (RuntimeException ignored) {
+                // 提交方早已返回，没有调用方可以接收这个异常
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(1);
+        private int maxAttempts = 5;
+        private double jitter = 0.2;
+        private int maxParked = 10_000;
+        private RejectedExecutionHandler fallback = new ThreadPoolExecutor.DiscardPolicy();
+        private HashedTimingWheel wheel;
+
+        private Builder() {}
+
+        /**
+         * 第一次重投前的等待时间，之后每次翻倍，默认 10ms
+         */
+        public Builder initialDelay(long delay, TimeUnit unit) {
+            this.initialDelayNanos = Objects.requireNonNull(unit, "initialDelayUnit").toNanos(delay);
+            return this;
+        }
+
+        /**
+         * 单次等待的上限，默认 1s
+         */
+        public Builder maxDelay(long delay, TimeUnit unit) {
+            this.maxDelayNanos = Objects.requireNonNull(unit, "maxDelayUnit").toNanos(delay);
+            return this;
+        }
+
+        /**
+         * 最多重投次数，默认 5
+         */
+        public Builder maxAttempts(int n) {
+            this.maxAttempts = n;
+            return this;
+        }
+
+        /**
+         * 等待时间的随机抖动比例，取值 [0, 1)，默认 0.2，避免同一批被拒绝的任务同时重投
+         */
+        public Builder jitter(double ratio) {
+            this.jitter = ratio;
+            return this;
+        }
+
+        /**
+         * 同时等待重投的任务数上限，默认 10000
+         */
+        public Builder maxParked(int n) {
+            this.maxParked = n;
+            return this;
+        }
+
+        /**
+         * 暂存失败或最终放弃时的拒绝策略，默认丢弃；不能是 CallerRunsPolicy
+         */
+        public Builder fallback(RejectedExecutionHandler handler) {
+            this.fallback = Objects.requireNonNull(handler, "fallback");
+            return this;
+        }
+
+        /**
+         * 使用的时间轮，默认 {@link HashedTimingWheel#shared()}
+         */
+        public Builder timingWheel(HashedTimingWheel wheel) {
+            this.wheel = Objects.requireNonNull(wheel, "timingWheel");
+            return this;
+        }
+
+        public DelayedResubmitPolicy build() {
+            if (initialDelayNanos <= 0 || maxDelayNanos < initialDelayNanos) {
+                throw new IllegalArgumentException("delay must satisfy 0 < initialDelay <= maxDelay");
+            }
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be > 0");
+            }
+            if (jitter < 0 || jitter >= 1) {
+                throw new IllegalArgumentException("jitter must be in [0, 1)");
+            }
+            if (maxParked <= 0) {
+                throw new IllegalArgumentException("maxParked must be > 0");
+            }
+            if (fallback instanceof DelayedResubmitPolicy) {
+                throw new IllegalArgumentException("fallback must not be another DelayedResubmitPolicy");
+            }
+            if (fallback instanceof ThreadPoolExecutor.CallerRunsPolicy) {
+                // 放弃时 fallback 在时间轮线程上执行，CallerRuns 会让用户任务阻塞共享时间轮上的所有定时
+                throw new IllegalArgumentException("fallback must not be CallerRunsPolicy");
+            }
+            if (wheel == null) {
+                wheel = HashedTimingWheel.shared();
+            }
+            return new DelayedResubmitPolicy(this);
+        }
+    }
+}
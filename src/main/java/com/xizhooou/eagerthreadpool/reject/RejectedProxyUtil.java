@@ -4,8 +4,8 @@ import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertConfig;
 import com.xizhooou.eagerthreadpool.alert.RejectAlertState;
 
-import java.lang.reflect.Proxy;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 
 public final class RejectedProxyUtil {
@@ -19,16 +19,17 @@ public final class RejectedProxyUtil {
                                                        String poolName,
                                                        RejectAlertConfig alertConfig,
                                                        RejectAlertState alertState) {
-        // 动态代理模式: 增强线程池拒绝策略，比如：拒绝任务报警或加入延迟队列重复放入等逻辑
+        // 装饰器模式: 增强线程池拒绝策略，拒绝任务报警，以及配合 DelayedResubmitPolicy 延迟重新放入队列
+        // 直接调用而非动态代理，拒绝风暴时不经过反射、不分配参数数组
         RejectedExecutionHandler target = rejectedExecutionHandler != null
                 ? rejectedExecutionHandler
-                : new java.util.concurrent.ThreadPoolExecutor.AbortPolicy();
+                : new ThreadPoolExecutor.AbortPolicy();
+        if (target instanceof AlertingRejectedExecutionHandler decorated) {
+            // 避免重复包装导致重复计数
+            target = decorated.getTarget();
+        }
 
-        return (RejectedExecutionHandler) Proxy.newProxyInstance(
-                target.getClass().getClassLoader(),
-                new Class[]{RejectedExecutionHandler.class},
-                new RejectedProxyInvocationHandler(target, rejectedNum, executor, poolName, alertConfig, alertState)
-        );
+        return new AlertingRejectedExecutionHandler(target, rejectedNum, executor, poolName, alertConfig, alertState);
     }
 
     public static RejectedExecutionHandler createProxy(RejectedExecutionHandler rejectedExecutionHandler,
@@ -0,0 +1,132 @@
+package com.xizhooou.eagerthreadpool.spill;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 内存队列之后的溢出层：队列满且 retryOffer 失败时把 {@link SpillableTask} 写入 {@link SpillSegmentStore}，
+ * 队列腾出空位后按落盘顺序重放回队列
+ * - 同一时刻只有一个线程重放，其余调用方直接返回，避免同一条记录被重复入队
+ * - 落盘层内部是 FIFO；落盘期间新提交的任务在队列有空位时可能先于落盘任务执行
+ */
+public final class OverflowSpill implements Closeable {
+
+    private final SpillSegmentStore store;
+    private final SpillTaskDecoder decoder;
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    // 无锁读取，afterExecute 每次都会检查
+    private final AtomicLong pending;
+    private final LongAdder spilledNum = new LongAdder();
+    private final LongAdder replayedNum = new LongAdder();
+    private final LongAdder decodeFailedNum = new LongAdder();
+
+    public OverflowSpill(SpillSegmentStore store, SpillTaskDecoder decoder) {
+        if (store == null || decoder == null) {
+            throw new IllegalArgumentException("store and decoder must not be null");
+        }
+        this.store = store;
+        this.decoder = decoder;
+        this.pending = new AtomicLong(store.getPendingRecords());
+    }
+
+    /**
+     * 落盘一个任务；不是 {@link SpillableTask}、序列化失败或超出磁盘配额时返回 false
+     */
+    public boolean trySpill(Runnable task) {
+        if (!(task instanceof SpillableTask spillable)) {
+            return false;
+        }
+        byte[] payload;
+        try {
+            payload = spillable.serialize();
+        } catch (RuntimeException e) {
+            return false;
+        }
+        if (payload == null || !store.append(payload)) {
+            return false;
+        }
+        pending.incrementAndGet();
+        spilledNum.increment();
+        return true;
+    }
+
+    /**
+     * 按 FIFO 把落盘任务交给 enqueue，直到 enqueue 返回 false、没有落盘任务或达到 maxTasks
+     * enqueue 成功后才确认消费，还原失败的记录被跳过
+     * 读到末尾释放锁后如果又有新落盘的记录，重新检查一次：持锁期间其他线程的 tryLock 失败，不能让新记录无人重放
+     * @return 重放成功的任务数
+     */
+    public int replay(Predicate<Runnable> enqueue, int maxTasks) {
+        int n = 0;
+        while (pending.get() > 0 && n < maxTasks && replayLock.tryLock()) {
+            boolean drained = false;
+            try {
+                while (n < maxTasks) {
+                    byte[] payload = store.peek();
+                    if (payload == null) {
+                        drained = true;
+                        break;
+                    }
+                    Runnable task;
+                    try {
+                        task = decoder.decode(payload);
+                    } catch (Exception e) {
+                        task = null;
+                    }
+                    if (task == null) {
+                        decodeFailedNum.increment();
+                    } else if (!enqueue.test(task)) {
+                        return n;
+                    } else {
+                        replayedNum.increment();
+                        n++;
+                    }
+                    store.commit();
+                    pending.decrementAndGet();
+                }
+            } finally {
+                replayLock.unlock();
+            }
+            if (!drained) {
+                break;
+            }
+        }
+        return n;
+    }
+
+    public boolean hasPending() {
+        return pending.get() > 0;
+    }
+
+    /**
+     * 磁盘上等待重放的任务数，含启动时恢复的任务
+     */
+    public long getPendingNum() {
+        return Math.max(0, pending.get());
+    }
+
+    public long getSpilledNum() {
+        return spilledNum.sum();
+    }
+
+    public long getReplayedNum() {
+        return replayedNum.sum();
+    }
+
+    public long getDecodeFailedNum() {
+        return decodeFailedNum.sum();
+    }
+
+    public SpillSegmentStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
@@ -0,0 +1,325 @@
+package com.xizhooou.eagerthreadpool.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 追加写的内存映射段文件，按写入顺序（FIFO）读出
+ * 段文件布局：
+ * - 头部 16 字节：magic(4) version(4) readOffset(8)，readOffset 为已确认消费到的位置
+ * - 记录：length(4) crc32(4) payload(length)，先写 crc 与 payload 再写 length，length 为 0 表示段内没有更多记录
+ * 崩溃恢复：启动时按序号扫描已有段，从 readOffset 开始校验记录，遇到长度越界或 crc 不符即视为段尾（截断半写记录）；
+ * 已恢复的段只读，新记录总是写入新建的段
+ * 磁盘占用上限为 maxBytes，按整段计算；段文件创建时即按 segmentBytes 映射
+ * 所有方法在 this 上同步：只有内存队列满时才走到这里，不在热路径上
+ */
+public final class SpillSegmentStore implements Closeable {
+
+    static final int MAGIC = 0x4553504C; // "ESPL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 8;
+
+    private static final String PREFIX = "spill-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    // 最旧的段在队头（读），最新的段在队尾（写）
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long nextSequence;
+    private long pendingRecords;
+    private boolean closed;
+
+    private SpillSegmentStore(Path directory, int segmentBytes, int maxSegments) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * 打开（必要时创建）目录并恢复其中已有的段
+     * @param segmentBytes 单个段文件大小，单条记录不能超过 segmentBytes - 24
+     * @param maxBytes 所有段文件的总大小上限，至少能容纳一个段
+     */
+    public static SpillSegmentStore open(Path directory, int segmentBytes, long maxBytes) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        if (segmentBytes <= HEADER_BYTES + RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must be > " + (HEADER_BYTES + RECORD_HEADER_BYTES));
+        }
+        if (maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("maxBytes must be >= segmentBytes");
+        }
+        int maxSegments = (int) Math.min(Integer.MAX_VALUE, maxBytes / segmentBytes);
+        SpillSegmentStore store = new SpillSegmentStore(directory, segmentBytes, maxSegments);
+        try {
+            Files.createDirectories(directory);
+            store.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open spill directory " + directory, e);
+        }
+        return store;
+    }
+
+    /**
+     * 追加一条记录；记录过大、磁盘配额已满或已关闭时返回 false
+     */
+    public synchronized boolean append(byte[] payload) {
+        int need = RECORD_HEADER_BYTES + payload.length;
+        if (closed || payload.length == 0 || need > segmentBytes - HEADER_BYTES) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.readOnly || tail.writeOffset + need > segmentBytes) {
+            if (tail != null && !tail.readOnly) {
+                // 写满的段刷盘后只读
+                tail.buffer.force();
+                tail.readOnly = true;
+            }
+            reclaimConsumedHead();
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            try {
+                tail = createSegment();
+            } catch (IOException e) {
+                return false;
+            }
+            segments.addLast(tail);
+        }
+
+        int pos = tail.writeOffset;
+        MappedByteBuffer buf = tail.buffer;
+        crc.reset();
+        crc.update(payload, 0, payload.length);
+        buf.putInt(pos + 4, (int) crc.getValue());
+        buf.put(pos + RECORD_HEADER_BYTES, payload);
+        buf.putInt(pos, payload.length);
+        tail.writeOffset = pos + need;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * 读取最旧的一条未确认记录但不消费，没有时返回 null；需要配合 {@link #commit()} 使用
+     */
+    public synchronized byte[] peek() {
+        Segment head = readableHead();
+        if (head == null) {
+            return null;
+        }
+        int len = head.buffer.getInt(head.readOffset);
+        byte[] payload = new byte[len];
+        head.buffer.get(head.readOffset + RECORD_HEADER_BYTES, payload);
+        return payload;
+    }
+
+    /**
+     * 确认消费最旧的一条记录，消费进度写入段头；崩溃在 peek 与 commit 之间时重启后会再读到该记录
+     */
+    public synchronized boolean commit() {
+        Segment head = readableHead();
+        if (head == null) {
+            return false;
+        }
+        int len = head.buffer.getInt(head.readOffset);
+        head.readOffset += RECORD_HEADER_BYTES + len;
+        head.buffer.putLong(8, head.readOffset);
+        pendingRecords--;
+        reclaimConsumedHead();
+        return true;
+    }
+
+    public synchronized long getPendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    /**
+     * 当前段文件占用的磁盘字节数
+     */
+    public synchronized long getUsedBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+
+    public long getMaxBytes() {
+        return (long) maxSegments * segmentBytes;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 刷盘并停止读写，未消费的记录保留在磁盘上，下次 open 时恢复
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment s : segments) {
+            if (!s.readOnly) {
+                s.buffer.force();
+            }
+        }
+        segments.clear();
+    }
+
+    private Segment readableHead() {
+        if (closed) {
+            return null;
+        }
+        reclaimConsumedHead();
+        Segment head = segments.peekFirst();
+        if (head == null || head.readOffset >= head.writeOffset) {
+            return null;
+        }
+        return head;
+    }
+
+    // 删除已消费完且不再写入的段；仍在写入的段保留
+    private void reclaimConsumedHead() {
+        Segment head;
+        while ((head = segments.peekFirst()) != null
+                && head.readOffset >= head.writeOffset
+                && (head.readOnly || segments.size() > 1)) {
+            segments.pollFirst();
+            try {
+                Files.deleteIfExists(head.path);
+            } catch (IOException ignored) {
+                // 删除失败只影响磁盘占用，恢复时读到 readOffset == 段尾会再次删除
+            }
+        }
+    }
+
+    private Segment createSegment() throws IOException {
+        Path path = directory.resolve(fileName(nextSequence++));
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buf.putInt(0, MAGIC);
+        buf.putInt(4, VERSION);
+        buf.putLong(8, HEADER_BYTES);
+        return new Segment(path, buf, HEADER_BYTES, HEADER_BYTES, false);
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path p : ds) {
+                if (parseSequence(p) >= 0) {
+                    files.add(p);
+                }
+            }
+        }
+        files.sort((a, b) -> Long.compare(parseSequence(a), parseSequence(b)));
+        for (Path p : files) {
+            nextSequence = Math.max(nextSequence, parseSequence(p) + 1);
+            Segment s = recoverSegment(p);
+            if (s == null || s.readOffset >= s.writeOffset) {
+                Files.deleteIfExists(p);
+                continue;
+            }
+            segments.addLast(s);
+        }
+    }
+
+    // 段头损坏的段无法确定消费进度，返回 null 丢弃
+    private Segment recoverSegment(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+            return null;
+        }
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+            return null;
+        }
+        long readOffset = buf.getLong(8);
+        if (readOffset < HEADER_BYTES || readOffset > size) {
+            return null;
+        }
+        int pos = (int) readOffset;
+        int limit = (int) size;
+        long records = 0;
+        byte[] scratch = new byte[0];
+        while (pos + RECORD_HEADER_BYTES <= limit) {
+            int len = buf.getInt(pos);
+            if (len <= 0 || len > limit - pos - RECORD_HEADER_BYTES) {
+                break;
+            }
+            if (scratch.length < len) {
+                scratch = new byte[len];
+            }
+            buf.get(pos + RECORD_HEADER_BYTES, scratch, 0, len);
+            crc.reset();
+            crc.update(scratch, 0, len);
+            if ((int) crc.getValue() != buf.getInt(pos + 4)) {
+                break;
+            }
+            pos += RECORD_HEADER_BYTES + len;
+            records++;
+        }
+        pendingRecords += records;
+        return new Segment(path, buf, (int) readOffset, pos, true);
+    }
+
+    private static String fileName(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    private static long parseSequence(Path p) {
+        String name = p.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final MappedByteBuffer buffer;
+        int readOffset;
+        int writeOffset;
+        // 已写满或由恢复得到的段，不再追加
+        boolean readOnly;
+
+        Segment(Path path, MappedByteBuffer buffer, int readOffset, int writeOffset, boolean readOnly) {
+            this.path = path;
+            this.buffer = buffer;
+            this.readOffset = readOffset;
+            this.writeOffset = writeOffset;
+            this.readOnly = readOnly;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.xizhooou.eagerthreadpool.spill;
+
+/**
+ * 把 {@link SpillableTask#serialize()} 的结果还原成任务，抛出异常时该条记录被跳过并计数
+ */
+@FunctionalInterface
+public interface SpillTaskDecoder {
+
+    Runnable decode(byte[] payload) throws Exception;
+}
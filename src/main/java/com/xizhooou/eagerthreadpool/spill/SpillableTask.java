@@ -0,0 +1,11 @@
+package com.xizhooou.eagerthreadpool.spill;
+
+/**
+ * 可落盘的任务：内存队列满且 retryOffer 失败时，序列化后写入溢出段文件，之后由 {@link SpillTaskDecoder} 还原执行
+ * - 只有直接 execute 的任务会落盘；submit 包装出的 Future 无法跨进程恢复，不会落盘
+ * - 落盘后的任务是至少一次语义：进程崩溃在重放与确认之间时，重启后可能再执行一次
+ */
+public interface SpillableTask extends Runnable {
+
+    byte[] serialize();
+}
@@ -0,0 +1,317 @@
+package com.xizhooou.eagerthreadpool.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 单层哈希时间轮：添加、取消都是 O(1)，到期精度为一个 tick
+ * - 添加、取消只进入无锁队列，桶内的双向链表只由 tick 线程读写
+ * - 到期的任务直接在 tick 线程上执行，应当很快返回（如重新入队、交给线程池），抛出的异常被忽略
+ * - 超过一圈的延迟记录剩余圈数，每转一圈减一
+ * - tick 线程为守护线程，在第一次添加时才启动
+ */
+public final class HashedTimingWheel {
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final String threadName;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    private volatile Thread worker;
+    private volatile boolean closed;
+    // tick 线程启动时刻，deadline 都相对它计算
+    private volatile long startNanos;
+    // 只由 tick 线程读写
+    private long tick;
+
+    /**
+     * @param tickDuration 一个 tick 的时长，决定到期精度
+     * @param ticksPerWheel 槽位数，向上取整为 2 的幂
+     */
+    public HashedTimingWheel(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be > 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30]");
+        }
+        this.threadName = (threadName == null || threadName.isBlank()) ? "eager-timing-wheel" : threadName;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int n = 1;
+        while (n < ticksPerWheel) {
+            n <<= 1;
+        }
+        this.wheel = new Bucket[n];
+        for (int i = 0; i < n; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = n - 1;
+    }
+
+    private static final class Holder {
+        private static final HashedTimingWheel INSTANCE = new HashedTimingWheel(
+                "eager-timing-wheel", DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * 所有线程池共用的实例：10ms 一个 tick，512 个槽位（一圈约 5 秒）
+     */
+    public static HashedTimingWheel shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 在 delay 之后执行 task；已停止时抛出 IllegalStateException
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (closed) {
+            throw new IllegalStateException("timing wheel is stopped");
+        }
+        if (worker == null) {
+            start();
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        // 溢出保护：极大的 delay
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 尚未到期且未取消的任务数
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * 停止 tick 线程，未到期的任务不再执行；共享实例不应调用
+     */
+    public void stop() {
+        synchronized (this) {
+            closed = true;
+        }
+        Thread t = worker;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    public boolean isStopped() {
+        return closed;
+    }
+
+    private synchronized void start() {
+        if (worker != null || closed) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        Thread t = new Thread(this::runLoop, threadName);
+        t.setDaemon(true);
+        t.start();
+        worker = t;
+    }
+
+    private void runLoop() {
+        while (!closed) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            processCancels();
+            transferAdds();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    // 睡到下一个 tick，返回当前 tick 的结束时间（相对 startNanos）；停止时返回 -1
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (;;) {
+            long now = System.nanoTime() - startNanos;
+            long sleep = deadline - now;
+            if (sleep <= 0) {
+                return now;
+            }
+            if (closed) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+    }
+
+    private void transferAdds() {
+        // 每个 tick 最多搬 10 万个，避免添加风暴时 tick 线程饿死到期处理
+        for (int i = 0; i < 100_000; i++) {
+            Timeout t = pendingAdds.poll();
+            if (t == null) {
+                return;
+            }
+            if (t.state.get() != Timeout.ST_INIT) {
+                continue;
+            }
+            long calculated = t.deadline / tickNanos;
+            t.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(t);
+        }
+    }
+
+    private void processCancels() {
+        Timeout t;
+        while ((t = pendingCancels.poll()) != null) {
+            if (t.bucket != null) {
+                t.bucket.remove(t);
+            }
+        }
+    }
+
+    /**
+     * 时间轮中的一个任务
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedTimingWheel timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // 以下只由 tick 线程读写
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HashedTimingWheel timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public Runnable task() {
+            return task;
+        }
+
+        /**
+         * 取消，已到期或已取消时返回 false；从桶中移除留到下一个 tick 完成
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            timer.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        /**
+         * 距离到期的剩余时间，已到期时为 0 或负数
+         */
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - (System.nanoTime() - timer.startNanos), TimeUnit.NANOSECONDS);
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable ignored) {
+                // 任务异常不能影响 tick 线程
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout t = head;
+            while (t != null) {
+                Timeout next = t.next;
+                if (t.remainingRounds <= 0) {
+                    if (t.deadline <= deadline) {
+                        remove(t);
+                        t.expire();
+                    }
+                } else if (t.isCancelled()) {
+                    remove(t);
+                } else {
+                    t.remainingRounds--;
+                }
+                t = next;
+            }
+        }
+
+        void remove(Timeout t) {
+            if (t.bucket != this) {
+                return;
+            }
+            Timeout next = t.next;
+            if (t.prev != null) {
+                t.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = t.prev;
+            }
+            if (t == head) {
+                head = next;
+            }
+            if (t == tail) {
+                tail = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.adaptive.AdaptiveSizingConfig;
+import com.xizhooou.eagerthreadpool.adaptive.PoolSizeDecision;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class AdaptivePoolSizeControllerTest {
+
+    private static void waitUntil(BooleanSupplier condition, long timeoutMs, String msg) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) return;
+            try { Thread.sleep(10); } catch (InterruptedException ignored) {}
+        }
+        fail("Timeout: " + msg);
+    }
+
+    @Test
+    @Timeout(20)
+    void rejections_shouldGrowPoolWithinBounds_andPublishDecisions() throws Exception {
+        List<PoolSizeDecision> published = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .poolName("adaptive-up")
+                .corePoolSize(1)
+                .maximumPoolSize(2)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .adaptiveSizing(new AdaptiveSizingConfig(1, 3, 2, 5, 30, 10, 0.8, 0.2, 2, 2))
+                .adaptiveSizingListener(published::add)
+                // 决策里的排队耗时 p99 需要开启耗时统计
+                .latencyTracking(true)
+                .build();
+
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertNotNull(ex.getAdaptiveController());
+            // 持续提交阻塞任务，占满线程与队列并触发拒绝
+            waitUntil(() -> {
+                try {
+                    ex.execute(() -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException ignored) {
+                        }
+                    });
+                } catch (RejectedExecutionException ignored) {
+                }
+                return ex.getMaximumPoolSize() == 5;
+            }, 5000, "maximumPoolSize didn't grow to upper bound");
+
+            assertEquals(3, ex.getCorePoolSize(), "core should be capped by maxCorePoolSize");
+            assertFalse(published.isEmpty());
+            PoolSizeDecision first = published.get(0);
+            assertEquals(PoolSizeDecision.Direction.UP, first.direction());
+            assertEquals("adaptive-up", first.poolName());
+            assertEquals(2, first.oldMaximumPoolSize());
+            assertEquals(4, first.newMaximumPoolSize(), "single step should not exceed maxStep");
+            assertTrue(first.rejectedInPeriod() > 0 || first.queueWaitP99Nanos() > 0);
+            assertEquals(published, ex.getAdaptiveController().getRecentDecisions());
+        } finally {
+            release.countDown();
+            ex.shutdownNow();
+            ex.awaitTermination(3, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void idlePool_shouldShrinkToLowerBounds_afterConsecutiveIdlePeriods() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .poolName("adaptive-down")
+                .corePoolSize(4)
+                .maximumPoolSize(8)
+                .queueCapacity(8)
+                .adaptiveSizing(new AdaptiveSizingConfig(1, 4, 2, 8, 20, 10, 0.8, 0.2, 2, 2))
+                .build();
+        try {
+            waitUntil(() -> ex.getCorePoolSize() == 1 && ex.getMaximumPoolSize() == 2, 5000,
+                    "idle pool didn't shrink to lower bounds");
+
+            List<PoolSizeDecision> decisions = ex.getAdaptiveController().getRecentDecisions();
+            assertEquals(3, decisions.size(), "4/8 -> 2/6 -> 1/4 -> 1/2");
+            for (PoolSizeDecision d : decisions) {
+                assertEquals(PoolSizeDecision.Direction.DOWN, d.direction());
+                assertTrue(d.oldCorePoolSize() - d.newCorePoolSize() <= 2);
+                assertTrue(d.oldMaximumPoolSize() - d.newMaximumPoolSize() <= 2);
+                assertTrue(d.newCorePoolSize() <= d.newMaximumPoolSize());
+            }
+        } finally {
+            ex.shutdown();
+            ex.awaitTermination(3, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void builder_shouldRejectInitialSizesOutsideBounds() {
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .corePoolSize(8)
+                .maximumPoolSize(16)
+                .adaptiveSizing(1, 4, 4, 16)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveSizingConfig.of(4, 2, 4, 8));
+
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder().corePoolSize(1).maximumPoolSize(2).build();
+        try {
+            assertNull(ex.getAdaptiveController());
+        } finally {
+            ex.shutdown();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+import com.sun.net.httpserver.HttpServer;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.alert.AlertDispatcher;
+import com.xizhooou.eagerthreadpool.alert.AlertEvent;
+import com.xizhooou.eagerthreadpool.alert.AlertSink;
+import com.xizhooou.eagerthreadpool.alert.WeComAlertSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertDispatcherTest {
+
+    private HttpServer server;
+    private String url;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // 第 n 次请求（从 1 开始）的响应：状态码与响应体
+    private volatile IntFunction<Object[]> responder = n -> new Object[]{200, "{\"errcode\":0,\"errmsg\":\"ok\"}"};
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cgi-bin/webhook/send", exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            Object[] resp = responder.apply(requests.incrementAndGet());
+            byte[] out = ((String) resp[1]).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders((Integer) resp[0], out.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(out);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/cgi-bin/webhook/send?key=test";
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    @Timeout(10)
+    void alertsFromManyPools_shouldBeCoalescedIntoOneMessage() throws Exception {
+        AlertDispatcher dispatcher = new AlertDispatcher(64, 300, 3, 50, 200);
+        try {
+            for (int i = 0; i < 5; i++) {
+                // 每个线程池各自创建 sink，相同 url 视为同一个目标
+                WeComAlertSink sink = new WeComAlertSink(url);
+                assertTrue(dispatcher.publish(sink, new AlertEvent("pool-" + i, "线程池拒绝告警", "pool=pool-" + i, 0)));
+            }
+            waitUntil(() -> dispatcher.getSentNum() == 1, 5000);
+            Thread.sleep(500);
+
+            assertEquals(1, requests.get());
+            String body = bodies.get(0);
+            for (int i = 0; i < 5; i++) {
+                assertTrue(body.contains("pool=pool-" + i), body);
+            }
+            assertTrue(body.contains("5 条，来自 5 个线程池"), body);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void failedSend_shouldRetryWithBackoff_untilSuccess() throws Exception {
+        // 500、errcode 非 0（频率限制）都视为失败
+        responder = n -> switch (n) {
+            case 1 -> new Object[]{500, "boom"};
+            case 2 -> new Object[]{200, "{\"errcode\":45009,\"errmsg\":\"api freq out of limit\"}"};
+            default -> new Object[]{200, "{\"errcode\":0,\"errmsg\":\"ok\"}"};
+        };
+        AlertDispatcher dispatcher = new AlertDispatcher(64, 0, 4, 100, 1000);
+        try {
+            long start = System.nanoTime();
+            dispatcher.publish(new WeComAlertSink(url), new AlertEvent("p", "t", "retry-me", 0));
+            waitUntil(() -> dispatcher.getSentNum() == 1, 5000);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(3, requests.get());
+            assertEquals(2, dispatcher.getRetryNum());
+            assertEquals(0, dispatcher.getDroppedNum());
+            // 两次退避：100ms + 200ms
+            assertTrue(elapsedMs >= 300, "elapsed=" + elapsedMs);
+            assertTrue(bodies.get(2).contains("retry-me"));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void controlCharacters_shouldBeEscapedInWebhookPayload() throws Exception {
+        AlertDispatcher dispatcher = new AlertDispatcher(64, 0, 1, 20, 50);
+        try {
+            dispatcher.publish(new WeComAlertSink(url),
+                    new AlertEvent("p", "t", "java.lang.IllegalStateException\r\n\tat Task.run\u0001\"q\"\\", 0));
+            waitUntil(() -> dispatcher.getSentNum() == 1, 5000);
+            String body = bodies.get(0);
+            for (char c : body.toCharArray()) {
+                assertTrue(c >= 0x20, "raw control character in payload: " + (int) c);
+            }
+            assertTrue(body.contains("IllegalStateException\\n\\u0009at Task.run\\u0001\\\"q\\\"\\\\"), body);
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void exhaustedRetries_shouldDropBatch() throws Exception {
+        responder = n -> new Object[]{503, "unavailable"};
+        AlertDispatcher dispatcher = new AlertDispatcher(64, 0, 3, 20, 50);
+        try {
+            dispatcher.publish(new WeComAlertSink(url), new AlertEvent("p", "t", "a", 0));
+            waitUntil(() -> dispatcher.getDroppedNum() == 1, 5000);
+            assertEquals(3, requests.get());
+            assertEquals(0, dispatcher.getSentNum());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void fullQueue_shouldDropWithoutBlockingPublisher() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AlertSink slow = events -> {
+            sending.countDown();
+            release.await();
+        };
+        AlertDispatcher dispatcher = new AlertDispatcher(4, 0, 1, 0, 0);
+        try {
+            dispatcher.publish(slow, new AlertEvent("p", "t", "first", 0));
+            assertTrue(sending.await(2, TimeUnit.SECONDS));
+
+            int accepted = 0;
+            for (int i = 0; i < 100; i++) {
+                if (dispatcher.publish(slow, new AlertEvent("p", "t", "c" + i, 0))) {
+                    accepted++;
+                }
+            }
+            assertEquals(4, accepted);
+            assertEquals(96, dispatcher.getDroppedNum());
+        } finally {
+            release.countDown();
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(15)
+    void executor_shouldPublishRejectAlertToCustomSink() throws Exception {
+        List<AlertEvent> received = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("sink-pool")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .alertEnabled(true)
+                .alertSink(received::addAll)
+                .thresholdPerMinute(1)
+                .cooldownSeconds(0)
+                .build();
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            ex.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            ex.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+
+            waitUntil(() -> !received.isEmpty(), 10_000);
+            assertEquals("sink-pool", received.get(0).source());
+            assertTrue(received.get(0).content().contains("pool=sink-pool"));
+        } finally {
+            blocker.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier cond, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!cond.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met within " + timeoutMs + "ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import com.xizhooou.eagerthreadpool.CpuQuota;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContainerSizingTest {
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    void cgroupV2_shouldUseSmallestQuotaAlongThePath(@TempDir Path dir) throws Exception {
+        Path root = dir.resolve("cgroup");
+        Path proc = dir.resolve("proc-cgroup");
+        write(proc, "0::/kubepods/pod1/app\n");
+        write(root.resolve("cpu.max"), "max 100000\n");
+        write(root.resolve("kubepods/pod1/cpu.max"), "250000 100000\n");
+        write(root.resolve("kubepods/pod1/app/cpu.max"), "max 100000\n");
+
+        assertEquals(2.5, CpuQuota.quotaCpus(root, proc), 1e-9);
+        assertEquals(2.5, CpuQuota.effectiveCpus(root, proc, 32), 1e-9);
+        assertEquals(2.0, CpuQuota.effectiveCpus(root, proc, 2), 1e-9);
+    }
+
+    @Test
+    void cgroupV1_shouldReadCfsQuota_andTreatMinusOneAsUnlimited(@TempDir Path dir) throws Exception {
+        Path root = dir.resolve("cgroup");
+        Path proc = dir.resolve("proc-cgroup");
+        write(proc, "4:memory:/docker/abc\n3:cpu,cpuacct:/docker/abc\n0::/\n");
+        write(root.resolve("cpu,cpuacct/cpu.cfs_quota_us"), "-1\n");
+        write(root.resolve("cpu,cpuacct/cpu.cfs_period_us"), "100000\n");
+        assertEquals(-1, CpuQuota.quotaCpus(root, proc));
+        assertEquals(16, CpuQuota.effectiveCpus(root, proc, 16), 1e-9);
+
+        write(root.resolve("cpu,cpuacct/docker/abc/cpu.cfs_quota_us"), "50000\n");
+        write(root.resolve("cpu,cpuacct/docker/abc/cpu.cfs_period_us"), "100000\n");
+        assertEquals(0.5, CpuQuota.effectiveCpus(root, proc, 16), 1e-9);
+    }
+
+    @Test
+    void missingCgroupFiles_shouldFallBackToAvailableProcessors(@TempDir Path dir) {
+        assertEquals(6, CpuQuota.effectiveCpus(dir.resolve("none"), dir.resolve("none-proc"), 6), 1e-9);
+        assertTrue(CpuQuota.effectiveCpus() > 0);
+    }
+
+    @Test
+    void sizeFor_shouldDeriveCoreMaxAndQueueFromCpus() {
+        EagerThreadPoolExecutor cpu = EagerThreadPoolBuilder.newBuilder()
+                .name("sizing-cpu")
+                .sizeFor(Workload.CPU_BOUND, 0, 1.5)
+                .build();
+        EagerThreadPoolExecutor io = EagerThreadPoolBuilder.newBuilder()
+                .name("sizing-io")
+                .sizeFor(Workload.IO_BOUND, 3, 2)
+                .build();
+        EagerThreadPoolExecutor overridden = EagerThreadPoolBuilder.newBuilder()
+                .name("sizing-override")
+                .sizeFor(Workload.IO_BOUND, 1, 32)
+                .maximumPoolSize(100)
+                .build();
+        try {
+            assertEquals(2, cpu.getCorePoolSize());
+            assertEquals(2, cpu.getMaximumPoolSize());
+            assertEquals(512, cpu.getQueueCapacity());
+
+            assertEquals(8, io.getCorePoolSize());
+            assertEquals(16, io.getMaximumPoolSize());
+            assertEquals(512, io.getQueueCapacity());
+
+            assertEquals(64, overridden.getCorePoolSize());
+            assertEquals(100, overridden.getMaximumPoolSize());
+        } finally {
+            cpu.shutdown();
+            io.shutdown();
+            overridden.shutdown();
+        }
+    }
+
+    @Test
+    void invalidWorkloadCombinations_shouldFailValidation() {
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .sizeFor(Workload.CPU_BOUND, 0.5).build());
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .sizeFor(Workload.IO_BOUND, 0).build());
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .sizeFor(Workload.IO_BOUND, Double.NaN).build());
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .sizeFor(Workload.IO_BOUND, 4, 4)
+                .maximumPoolSize(8)
+                .build(), "derived core 20 > explicit max 8");
+    }
+}
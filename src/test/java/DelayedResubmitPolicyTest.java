@@ -0,0 +1,148 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.reject.DelayedResubmitPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelayedResubmitPolicyTest {
+
+    private static EagerThreadPoolExecutor singleWorker(String name, DelayedResubmitPolicy policy) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(policy)
+                .build();
+    }
+
+    private static CountDownLatch block(EagerThreadPoolExecutor ex) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ex.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void awaitTrue(java.util.function.BooleanSupplier cond) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cond.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cond.getAsBoolean());
+    }
+
+    @Test
+    @Timeout(10)
+    void burst_shouldBecomeDelay_withoutCountingRejections() throws Exception {
+        DelayedResubmitPolicy policy = DelayedResubmitPolicy.newBuilder()
+                .initialDelay(20, TimeUnit.MILLISECONDS)
+                .maxDelay(100, TimeUnit.MILLISECONDS)
+                .maxAttempts(50)
+                .build();
+        EagerThreadPoolExecutor ex = singleWorker("resubmit-burst", policy);
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch release = block(ex);
+        try {
+            for (int i = 0; i < 10; i++) {
+                ex.execute(ran::incrementAndGet);
+            }
+            assertEquals(9, policy.getParkedNum());
+            assertEquals(0, ex.getRejectedNum());
+            // 暂存的任务不占计数：阻塞任务 + 队列中的 1 个
+            assertEquals(2, ex.getSubmittedTaskCount());
+            Thread.sleep(100);
+            assertEquals(0, ran.get());
+        } finally {
+            release.countDown();
+        }
+        // 重投成功后 parked 在时间轮线程上扣减，可能晚于任务执行
+        awaitTrue(() -> ran.get() == 10 && policy.getParkedNum() == 0);
+        assertEquals(9, policy.getResubmittedNum());
+        assertEquals(0, policy.getGaveUpNum());
+        assertEquals(0, ex.getRejectedNum());
+        awaitTrue(() -> ex.getSubmittedTaskCount() == 0);
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void exhaustedAttempts_shouldCountRejection_andInvokeFallback() throws Exception {
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        DelayedResubmitPolicy policy = DelayedResubmitPolicy.newBuilder()
+                .initialDelay(10, TimeUnit.MILLISECONDS)
+                .maxDelay(20, TimeUnit.MILLISECONDS)
+                .maxAttempts(2)
+                .jitter(0)
+                .fallback((r, e) -> fallbackCalls.incrementAndGet())
+                .build();
+        EagerThreadPoolExecutor ex = singleWorker("resubmit-giveup", policy);
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            ex.execute(() -> { });
+            ex.execute(() -> { });
+            awaitTrue(() -> policy.getGaveUpNum() == 2);
+            assertEquals(2, fallbackCalls.get());
+            assertEquals(2, ex.getRejectedNum());
+            assertEquals(2, policy.getRetryNum());
+            assertEquals(0, policy.getParkedNum());
+            assertEquals(2, ex.getSubmittedTaskCount());
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void fullParking_shouldFallBackImmediately() throws Exception {
+        DelayedResubmitPolicy policy = DelayedResubmitPolicy.newBuilder()
+                .initialDelay(1, TimeUnit.SECONDS)
+                .maxParked(1)
+                .fallback(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        EagerThreadPoolExecutor ex = singleWorker("resubmit-full", policy);
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            ex.execute(() -> { });
+            assertEquals(1, policy.getParkedNum());
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+            assertEquals(1, ex.getRejectedNum());
+            assertEquals(2, ex.getSubmittedTaskCount());
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void invalidSettings_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DelayedResubmitPolicy.newBuilder().jitter(1).build());
+        assertThrows(IllegalArgumentException.class, () -> DelayedResubmitPolicy.newBuilder().maxAttempts(0).build());
+        assertThrows(IllegalArgumentException.class, () -> DelayedResubmitPolicy.newBuilder()
+                .initialDelay(2, TimeUnit.SECONDS).maxDelay(1, TimeUnit.SECONDS).build());
+        // fallback 会在共享时间轮线程上执行
+        assertThrows(IllegalArgumentException.class, () -> DelayedResubmitPolicy.newBuilder()
+                .fallback(new ThreadPoolExecutor.CallerRunsPolicy()).build());
+    }
+}
@@ -0,0 +1,210 @@
+import com.xizhooou.eagerthreadpool.EagerScheduledExecutor;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EagerScheduledExecutorTest {
+
+    private static EagerScheduledExecutor newScheduler(String name, int core, int max, int queue) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(core)
+                .maximumPoolSize(max)
+                .queueCapacity(queue)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .schedulerTick(5, TimeUnit.MILLISECONDS, 64)
+                .buildScheduled();
+    }
+
+    @Test
+    @Timeout(10)
+    void schedule_shouldRunAfterDelay() throws Exception {
+        EagerScheduledExecutor s = newScheduler("sched-once", 1, 2, 16);
+        try {
+            long start = System.nanoTime();
+            ScheduledFuture<String> f = s.schedule(() -> "done", 50, TimeUnit.MILLISECONDS);
+            assertTrue(f.getDelay(TimeUnit.MILLISECONDS) > 0);
+            assertEquals("done", f.get(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 49);
+            // done() 在唤醒 get() 之后执行
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (s.getScheduledTaskNum() != 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, s.getScheduledTaskNum());
+        } finally {
+            s.shutdown();
+            assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void periodicTasks_shouldRepeatWithoutOverlap_untilCancelled() throws Exception {
+        EagerScheduledExecutor s = newScheduler("sched-periodic", 2, 4, 16);
+        AtomicInteger rate = new AtomicInteger();
+        AtomicInteger delay = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try {
+            ScheduledFuture<?> a = s.scheduleAtFixedRate(rate::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> b = s.scheduleWithFixedDelay(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                delay.incrementAndGet();
+                try {
+                    Thread.sleep(15);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+            }, 0, 1, TimeUnit.MILLISECONDS);
+            Thread.sleep(300);
+            assertTrue(a.cancel(false));
+            assertTrue(b.cancel(false));
+            int rateRuns = rate.get();
+            int delayRuns = delay.get();
+            assertTrue(rateRuns >= 10, "fixed rate runs=" + rateRuns);
+            assertTrue(delayRuns >= 5, "fixed delay runs=" + delayRuns);
+            assertEquals(1, maxRunning.get());
+
+            Thread.sleep(100);
+            assertTrue(rate.get() <= rateRuns + 1);
+            assertEquals(0, s.getScheduledTaskNum());
+        } finally {
+            s.shutdown();
+            assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void burstOfDueTasks_shouldExpandPoolEagerly() throws Exception {
+        EagerScheduledExecutor s = newScheduler("sched-burst", 1, 8, 100);
+        CountDownLatch allStarted = new CountDownLatch(8);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 8; i++) {
+                s.schedule(() -> {
+                    allStarted.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }, 20, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(allStarted.await(3, TimeUnit.SECONDS), "due tasks should run concurrently up to max");
+            assertEquals(8, s.getExecutor().getLiveWorkerCount());
+        } finally {
+            release.countDown();
+            s.shutdown();
+            assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectedDelivery_shouldFailFuture_andCountRejection() throws Exception {
+        EagerScheduledExecutor s = newScheduler("sched-reject", 1, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            s.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            ScheduledFuture<Integer> queued = s.schedule(() -> 1, 10, TimeUnit.MILLISECONDS);
+            ScheduledFuture<Integer> rejected = s.schedule(() -> 2, 30, TimeUnit.MILLISECONDS);
+
+            ExecutionException ee = assertThrows(ExecutionException.class, () -> rejected.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, ee.getCause());
+            assertEquals(1, s.getExecutor().getRejectedNum());
+            assertFalse(queued.isDone());
+            release.countDown();
+            assertEquals(1, queued.get(2, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            s.shutdown();
+            assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, s.getExecutor().getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void silentlyDiscardedDelivery_shouldFailOneShot_andKeepPeriodicGoing() throws Exception {
+        EagerScheduledExecutor s = EagerThreadPoolBuilder.newBuilder()
+                .name("sched-discard")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.DiscardPolicy())
+                .schedulerTick(5, TimeUnit.MILLISECONDS, 64)
+                .buildScheduled();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ticks = new AtomicInteger();
+        try {
+            s.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            s.execute(() -> { });
+            ScheduledFuture<Integer> one = s.schedule(() -> 1, 10, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> periodic = s.scheduleAtFixedRate(ticks::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS);
+
+            ExecutionException ee = assertThrows(ExecutionException.class, () -> one.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, ee.getCause());
+            Thread.sleep(50);
+            assertEquals(0, ticks.get());
+            assertFalse(periodic.isDone());
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (ticks.get() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(ticks.get() >= 3);
+            periodic.cancel(false);
+            deadline = System.currentTimeMillis() + 2_000;
+            while (s.getScheduledTaskNum() != 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, s.getScheduledTaskNum());
+        } finally {
+            release.countDown();
+            s.shutdown();
+            assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void shutdown_shouldCancelPendingTasks_andRejectNewOnes() throws Exception {
+        EagerScheduledExecutor s = newScheduler("sched-shutdown", 1, 1, 16);
+        ScheduledFuture<?> later = s.schedule(() -> { }, 10, TimeUnit.SECONDS);
+        ScheduledFuture<?> periodic = s.scheduleAtFixedRate(() -> { }, 0, 10, TimeUnit.MILLISECONDS);
+        s.shutdown();
+        assertTrue(later.isCancelled());
+        assertTrue(periodic.isDone());
+        assertThrows(RejectedExecutionException.class, () -> s.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+        assertTrue(s.awaitTermination(3, TimeUnit.SECONDS));
+        assertTrue(s.isTerminated());
+    }
+}
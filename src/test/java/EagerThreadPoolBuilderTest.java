@@ -45,4 +45,41 @@ class EagerThreadPoolBuilderTest {
 
         assertTrue(ex.getMessage().contains("weComWebhookUrl"));
     }
+
+    @Test
+    void build_virtualThreads_shouldUseVirtualWorkersOrFailFastOnOldRuntime() throws Exception {
+        EagerThreadPoolBuilder builder = EagerThreadPoolBuilder.newBuilder()
+                .name("vt-pool")
+                .corePoolSize(1)
+                .maximumPoolSize(4)
+                .queueCapacity(8)
+                .virtualThreads(true);
+
+        if (Runtime.version().feature() < 21) {
+            assertThrows(UnsupportedOperationException.class, builder::build);
+            return;
+        }
+
+        EagerThreadPoolExecutor executor = builder.build();
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        executor.execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("vt-pool-vworker-"));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void build_virtualThreadsWithThreadFactory_shouldFailFast() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                EagerThreadPoolBuilder.newBuilder()
+                        .virtualThreads(true)
+                        .threadFactory(Thread::new)
+                        .build()
+        );
+        assertTrue(ex.getMessage().contains("virtualThreads"));
+    }
 }
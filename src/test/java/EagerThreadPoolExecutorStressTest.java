@@ -1,5 +1,7 @@
 import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
 import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.QueueType;
+import com.xizhooou.eagerthreadpool.TaskCounterType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
@@ -32,6 +34,28 @@ class EagerThreadPoolExecutorStressTest {
     @Test
     @Timeout(45)
     void brutalStress_abortPolicy_shouldKeepPoolStateConsistent() throws Exception {
+        runBrutalStress(TaskCounterType.ATOMIC, QueueType.LINKED);
+    }
+
+    @Test
+    @Timeout(45)
+    void brutalStress_stripedCounter_shouldKeepPoolStateConsistent() throws Exception {
+        runBrutalStress(TaskCounterType.STRIPED, QueueType.LINKED);
+    }
+
+    @Test
+    @Timeout(45)
+    void brutalStress_ringQueue_shouldKeepPoolStateConsistent() throws Exception {
+        runBrutalStress(TaskCounterType.STRIPED, QueueType.RING);
+    }
+
+    @Test
+    @Timeout(45)
+    void brutalStress_priorityQueue_shouldKeepPoolStateConsistent() throws Exception {
+        runBrutalStress(TaskCounterType.ATOMIC, QueueType.PRIORITY);
+    }
+
+    private static void runBrutalStress(TaskCounterType counterType, QueueType queueType) throws Exception {
         int producerThreads = Math.max(16, Runtime.getRuntime().availableProcessors() * 2);
         int tasksPerProducer = 4_000;
         int totalSubmitAttempts = producerThreads * tasksPerProducer;
@@ -47,6 +71,8 @@ class EagerThreadPoolExecutorStressTest {
                 .threadFactory(namedFactory("stress-worker"))
                 .rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
                 .rejectedCounter(rejectedNum)
+                .submittedCounterType(counterType)
+                .queueType(queueType)
                 .build();
 
         ExecutorService submitters = Executors.newFixedThreadPool(producerThreads, namedFactory("stress-submitter"));
@@ -1,13 +1,21 @@
+import com.xizhooou.eagerthreadpool.DeadlineExceededException;
 import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
 import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.PartialRejectedExecutionException;
+import com.xizhooou.eagerthreadpool.WorkQueue;
+import com.xizhooou.eagerthreadpool.reject.AlertingRejectedExecutionHandler;
+import com.xizhooou.eagerthreadpool.reject.RejectedProxyUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -129,6 +137,28 @@ public class EagerThreadPoolExecutorTest {
         assertTrue(rejectedNum.get() >= 1, "rejectedNum should increase");
     }
 
+    /**
+     * 拒绝策略以装饰器直接包装用户策略，不经过动态代理；重复包装时不会重复计数。
+     */
+    @Test
+    void rejectedHandler_shouldBeDirectDecoratorAroundUserHandler() {
+        RejectedExecutionHandler user = new ThreadPoolExecutor.DiscardPolicy();
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = newExecutor(1, 1, 1, user, rejectedNum);
+        try {
+            RejectedExecutionHandler handler = ex.getRejectedExecutionHandler();
+            assertFalse(java.lang.reflect.Proxy.isProxyClass(handler.getClass()));
+            assertInstanceOf(AlertingRejectedExecutionHandler.class, handler);
+            assertSame(user, ((AlertingRejectedExecutionHandler) handler).getTarget());
+
+            RejectedExecutionHandler rewrapped = RejectedProxyUtil.createProxy(handler, rejectedNum, ex);
+            rewrapped.rejectedExecution(() -> { }, ex);
+            assertEquals(1, rejectedNum.get(), "re-wrapped handler should count once");
+        } finally {
+            ex.shutdownNow();
+        }
+    }
+
     /**
      * CallerRunsPolicy：不抛异常，任务会在提交线程执行。
      * submittedCount 正常--。
@@ -304,6 +334,347 @@ public class EagerThreadPoolExecutorTest {
         assertEquals(0, submittedCount(ex), "submittedCount should end at 0");
     }
 
+    @Test
+    @Timeout(10)
+    void purge_shouldWakeBlockedRetryOffer_andDecreaseSubmittedCount() throws Exception {
+        // core=max=1、队列容量 1：被拒绝的提交在 retryOffer 中等待空位
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("purge-test")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .retryOfferTimeout(5, TimeUnit.SECONDS)
+                .rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicBoolean waiterRan = new AtomicBoolean(false);
+        try {
+            ex.execute(() -> {
+                try { blocker.await(); } catch (InterruptedException ignored) {}
+            });
+            Future<?> cancelled = ex.submit(() -> { });
+            assertTrue(cancelled.cancel(false));
+
+            Thread submitter = new Thread(() -> ex.execute(() -> waiterRan.set(true)), "submitter");
+            submitter.start();
+            waitUntil(() -> submitter.getState() == Thread.State.WAITING
+                    || submitter.getState() == Thread.State.TIMED_WAITING, 2000, "submitter not blocked");
+
+            // purge 走 removeIf：扣减计数并唤醒等待空位的提交方
+            ex.purge();
+            submitter.join(1000);
+            assertFalse(submitter.isAlive(), "retryOffer should be woken by purge");
+            assertEquals(2, submittedCount(ex));
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+        assertTrue(waiterRan.get());
+        assertEquals(0, submittedCount(ex));
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectHandlerRequeue_viaOfferRejected_shouldKeepSubmittedCountBalanced() {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        // 自定义拒绝策略：丢弃队头，把新任务直接放回队列
+        RejectedExecutionHandler requeue = (r, e) -> {
+            e.getQueue().poll();
+            assertTrue(((WorkQueue<?>) e.getQueue()).offerRejected(r), "requeue should succeed");
+        };
+        EagerThreadPoolExecutor ex = newExecutor(1, 1, 1, requeue, rejectedNum);
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicBoolean droppedRan = new AtomicBoolean(false);
+        AtomicBoolean requeuedRan = new AtomicBoolean(false);
+        try {
+            occupyMaxThreads(ex, 1, blocker, 1500);
+            ex.execute(() -> droppedRan.set(true));
+            ex.execute(() -> requeuedRan.set(true));
+            assertEquals(2, submittedCount(ex), "running task + requeued task");
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+
+        assertFalse(droppedRan.get(), "polled task should not run");
+        assertTrue(requeuedRan.get(), "requeued task should run");
+        assertEquals(0, submittedCount(ex), "submittedCount leaked after requeue");
+        assertEquals(1, rejectedNum.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void executeAll_shouldExpandToMaxThenQueueRest() {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = newExecutor(1, 4, 10, new ThreadPoolExecutor.AbortPolicy(), rejectedNum);
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger(0);
+        List<Runnable> batch = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            batch.add(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ignored) {}
+                ran.incrementAndGet();
+            });
+        }
+        try {
+            ex.executeAll(batch);
+            waitUntil(() -> ex.getPoolSize() == 4, 1500, "batch should expand the pool to max");
+            assertEquals(4, ex.getQueue().size(), "tasks beyond max should be queued");
+            assertEquals(8, submittedCount(ex));
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+        assertEquals(8, ran.get());
+        assertEquals(0, submittedCount(ex));
+        assertEquals(0, rejectedNum.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void submitAll_partialRejection_shouldReportExactlyTheRefusedTasks() {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = newExecutor(1, 2, 2, new ThreadPoolExecutor.AbortPolicy(), rejectedNum);
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        List<Callable<Integer>> batch = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int id = i;
+            batch.add(() -> {
+                blocker.await();
+                return id;
+            });
+        }
+        try {
+            PartialRejectedExecutionException e = assertThrows(PartialRejectedExecutionException.class,
+                    () -> ex.submitAll(batch));
+            assertEquals(2, e.getRejectedTasks().size(), "2 workers + 2 queued, the rest refused");
+            assertEquals(4, e.getAcceptedTasks().size());
+            for (Runnable r : e.getRejectedTasks()) {
+                assertTrue(((Future<?>) r).isCancelled(), "refused future should be cancelled");
+            }
+            assertEquals(4, submittedCount(ex));
+            assertEquals(2, rejectedNum.get());
+
+            blocker.countDown();
+            int sum = 0;
+            for (Runnable r : e.getAcceptedTasks()) {
+                sum += (Integer) ((Future<?>) r).get(2, TimeUnit.SECONDS);
+            }
+            assertEquals(0 + 1 + 2 + 3, sum, "the first four tasks should be accepted");
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+        assertEquals(0, submittedCount(ex));
+    }
+
+    @Test
+    @Timeout(10)
+    void latencyTracking_shouldRecordQueueWaitAndRunTime() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("latency-test")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(4)
+                .threadFactory(namedFactory("latency"))
+                .latencyTracking(true)
+                .build();
+        try {
+            CountDownLatch done = new CountDownLatch(2);
+            Runnable slow = () -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignored) {}
+                done.countDown();
+            };
+            ex.execute(slow);
+            // 第二个任务需要等第一个执行完
+            ex.execute(done::countDown);
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            waitUntil(() -> ex.getRunTimeSnapshot().count() == 2, 1500, "run time not recorded");
+
+            assertEquals(2, ex.getQueueWaitSnapshot().count());
+            assertTrue(ex.getQueueWaitSnapshot().max() >= TimeUnit.MILLISECONDS.toNanos(40),
+                    "queued task should have waited for the slow one: " + ex.getQueueWaitSnapshot());
+            assertTrue(ex.getRunTimeSnapshot().max() >= TimeUnit.MILLISECONDS.toNanos(40),
+                    "slow task run time should be recorded: " + ex.getRunTimeSnapshot());
+        } finally {
+            ex.shutdownNow();
+        }
+
+        EagerThreadPoolExecutor off = EagerThreadPoolBuilder.newBuilder()
+                .name("latency-off")
+                .latencyTracking(false)
+                .build();
+        assertFalse(off.isLatencyTracking());
+        assertNull(off.getQueueWaitSnapshot());
+        off.shutdownNow();
+    }
+
+    /**
+     * 准入控制：预估排队耗时超出预算时立即拒绝，不会等待 retryOfferTimeout。
+     */
+    @Test
+    @Timeout(10)
+    void admissionControl_shouldRejectImmediately_whenPredictedWaitExceedsBudget() throws Exception {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("admission")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(100)
+                .threadFactory(namedFactory("admission"))
+                .rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
+                .rejectedCounter(rejectedNum)
+                .retryOfferTimeout(2, TimeUnit.SECONDS)
+                .admissionControl(50, TimeUnit.MILLISECONDS)
+                .build();
+        Runnable slow = () -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+        };
+        try {
+            // 先积累一个完成速率样本
+            for (int i = 0; i < 5; i++) {
+                ex.execute(slow);
+            }
+            Thread.sleep(250);
+
+            int rejected = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < 30; i++) {
+                try {
+                    ex.execute(slow);
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                }
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(rejected > 0, "some tasks should be shed");
+            assertTrue(elapsedMs < 1000, "rejections should not wait for retryOfferTimeout, took " + elapsedMs + "ms");
+            assertEquals(rejected, ex.getAdmissionRejectedNum());
+            assertEquals(rejected, rejectedNum.get());
+            assertTrue(ex.getPredictedQueueWaitNanos() >= 0);
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, submittedCount(ex));
+    }
+
+    /**
+     * 带截止时间的任务：排队期间过期则跳过并异常完成，单独计数，不计入拒绝数。
+     */
+    @Test
+    @Timeout(10)
+    void deadlineTask_shouldBeSkippedWhenStale_andCountedSeparately() throws Exception {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = newExecutor(1, 1, 10, new ThreadPoolExecutor.AbortPolicy(), rejectedNum);
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        try {
+            occupyMaxThreads(ex, 1, blocker, 1500);
+
+            Future<String> stale = ex.submit(() -> {
+                ran.incrementAndGet();
+                return "stale";
+            }, java.time.Duration.ofMillis(50));
+            ex.execute(ran::incrementAndGet, java.time.Instant.now().plusMillis(50));
+            Future<String> fresh = ex.submit(() -> "fresh", java.time.Duration.ofSeconds(30));
+
+            Thread.sleep(120);
+            blocker.countDown();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> stale.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(DeadlineExceededException.class, e.getCause());
+            assertEquals("fresh", fresh.get(2, TimeUnit.SECONDS));
+            waitUntil(() -> ex.getDeadlineSkippedNum() == 2, 1000, "both stale tasks should be skipped");
+            assertEquals(0, ran.get());
+
+            // 提交时已过期：不入队，直接跳过
+            Future<String> expired = ex.submit(() -> "x", java.time.Instant.now().minusSeconds(1));
+            assertTrue(expired.isDone());
+            assertEquals(3, ex.getDeadlineSkippedNum());
+            assertEquals(0, rejectedNum.get());
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+        assertEquals(0, submittedCount(ex));
+    }
+
+    /**
+     * execute(Runnable, Instant) 没有 future 可以取回异常，应当与 execute(Runnable) 一样交给 UncaughtExceptionHandler。
+     */
+    @Test
+    @Timeout(10)
+    void deadlineExecute_shouldReportTaskFailureToUncaughtExceptionHandler() throws Exception {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = newExecutor(1, 1, 10, new ThreadPoolExecutor.AbortPolicy(), rejectedNum);
+        CountDownLatch caught = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        ex.setThreadFactory(r -> {
+            Thread t = new Thread(r);
+            t.setUncaughtExceptionHandler((th, e) -> {
+                error.set(e);
+                caught.countDown();
+            });
+            return t;
+        });
+        try {
+            ex.execute(() -> {
+                throw new IllegalStateException("boom");
+            }, java.time.Instant.now().plusSeconds(30));
+            assertTrue(caught.await(2, TimeUnit.SECONDS), "task failure should reach the UncaughtExceptionHandler");
+            assertInstanceOf(IllegalStateException.class, error.get());
+            assertEquals(0, ex.getDeadlineSkippedNum());
+
+            // worker 被替换后线程池仍可用
+            CountDownLatch ran = new CountDownLatch(1);
+            ex.execute(ran::countDown, java.time.Instant.now().plusSeconds(30));
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, submittedCount(ex));
+    }
+
+    @Test
+    @Timeout(10)
+    void liveWorkerCount_shouldTrackPoolSizeWithoutMainLock() {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("live-count-test")
+                .corePoolSize(1)
+                .maximumPoolSize(3)
+                .queueCapacity(4)
+                .keepAlive(50, TimeUnit.MILLISECONDS)
+                .threadFactory(namedFactory("live"))
+                .rejectedCounter(rejectedNum)
+                .build();
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            occupyMaxThreads(ex, 3, blocker, 1500);
+            assertEquals(3, ex.getLiveWorkerCount(), "live worker count should follow eager expansion");
+
+            // 放开阻塞后非核心线程超时回收
+            blocker.countDown();
+            waitUntil(() -> ex.getPoolSize() == 1, 3000, "non-core workers didn't time out");
+            waitUntil(() -> ex.getLiveWorkerCount() == 1, 1500, "live worker count didn't follow worker exit");
+        } finally {
+            shutdownAndAwait(ex, blocker);
+        }
+        // terminated 在 worker 线程真正退出前就会被通知，这里需要等待
+        waitUntil(() -> ex.getLiveWorkerCount() == 0, 1500, "all workers should have exited");
+    }
+
     @Test
     @Timeout(10)
     void webhookAlert_shouldSendToWeComWebhook_whenRejectThresholdReached() throws Exception {
@@ -0,0 +1,109 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.registry.EagerThreadPoolRegistry;
+import com.xizhooou.eagerthreadpool.registry.PoolSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EagerThreadPoolRegistryTest {
+
+    private final EagerThreadPoolRegistry registry = EagerThreadPoolRegistry.getInstance();
+
+    private static EagerThreadPoolExecutor newPool(String name) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+    }
+
+    @Test
+    @Timeout(10)
+    void builtPool_shouldBeRegistered_withSnapshotAndMBean() throws Exception {
+        EagerThreadPoolExecutor ex = newPool("registry-snapshot");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ex.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            ex.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+
+            PoolSnapshot s = registry.snapshot("registry-snapshot").orElseThrow();
+            assertEquals(1, s.corePoolSize());
+            assertEquals(1, s.maximumPoolSize());
+            assertEquals(1, s.poolSize());
+            assertEquals(1, s.activeCount());
+            assertEquals(1, s.queueSize());
+            assertEquals(2, s.submittedTaskCount());
+            assertEquals(1, s.rejectedCount());
+            assertEquals(1, s.rejectedInLastWindow());
+            assertEquals(0, s.completedTaskCount());
+            assertTrue(registry.snapshotAll().stream().anyMatch(p -> p.poolName().equals("registry-snapshot")));
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName on = EagerThreadPoolRegistry.objectName("registry-snapshot");
+            assertEquals(1, server.getAttribute(on, "ActiveCount"));
+            assertEquals(1, server.getAttribute(on, "QueueSize"));
+            assertEquals(1L, server.getAttribute(on, "RejectedCount"));
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(2, ex.getCompletedTaskNum());
+        assertEquals(0, ex.getActiveTaskNum());
+    }
+
+    @Test
+    @Timeout(10)
+    void terminatedPool_shouldBeUnregistered() throws Exception {
+        EagerThreadPoolExecutor ex = newPool("registry-terminate");
+        ObjectName on = EagerThreadPoolRegistry.objectName("registry-terminate");
+        assertTrue(registry.get("registry-terminate").isPresent());
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(on));
+
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+
+        assertFalse(registry.get("registry-terminate").isPresent());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(on));
+    }
+
+    @Test
+    @Timeout(10)
+    void samePoolName_shouldGetUniqueRegisteredName() throws Exception {
+        EagerThreadPoolExecutor a = newPool("registry-dup");
+        EagerThreadPoolExecutor b = newPool("registry-dup");
+        try {
+            assertSame(a, registry.get("registry-dup").orElseThrow());
+            assertSame(b, registry.get("registry-dup-2").orElseThrow());
+            assertEquals("registry-dup-2", registry.register(b));
+        } finally {
+            a.shutdown();
+            b.shutdown();
+            assertTrue(a.awaitTermination(3, TimeUnit.SECONDS));
+            assertTrue(b.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertFalse(registry.get("registry-dup").isPresent());
+        assertFalse(registry.get("registry-dup-2").isPresent());
+    }
+}
@@ -0,0 +1,71 @@
+import com.xizhooou.eagerthreadpool.timer.HashedTimingWheel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    @Test
+    @Timeout(10)
+    void timeouts_shouldFireNoEarlierThanDelay_acrossMultipleRounds() throws Exception {
+        // 4 个槽位 * 5ms，一圈只有 20ms
+        HashedTimingWheel wheel = new HashedTimingWheel("wheel-test", 5, TimeUnit.MILLISECONDS, 4);
+        try {
+            List<Long> lateness = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            for (long delay : new long[]{5, 47, 120}) {
+                long scheduledAt = System.nanoTime();
+                wheel.newTimeout(() -> {
+                    lateness.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt) - delay);
+                    done.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            for (long l : lateness) {
+                assertTrue(l >= -1, "fired early by " + -l + "ms");
+            }
+            assertEquals(0, wheel.pendingTimeouts());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void cancelledTimeout_shouldNotFire() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("wheel-cancel", 5, TimeUnit.MILLISECONDS, 8);
+        try {
+            AtomicInteger fired = new AtomicInteger();
+            HashedTimingWheel.Timeout cancelled = wheel.newTimeout(fired::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+            CountDownLatch later = new CountDownLatch(1);
+            wheel.newTimeout(later::countDown, 60, TimeUnit.MILLISECONDS);
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertTrue(cancelled.isCancelled());
+            assertEquals(1, wheel.pendingTimeouts());
+
+            assertTrue(later.await(5, TimeUnit.SECONDS));
+            assertEquals(0, fired.get());
+            assertFalse(cancelled.isExpired());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void stoppedWheel_shouldRejectNewTimeouts() {
+        HashedTimingWheel wheel = new HashedTimingWheel("wheel-stop", 5, TimeUnit.MILLISECONDS, 8);
+        wheel.newTimeout(() -> { }, 1, TimeUnit.SECONDS);
+        wheel.stop();
+        assertTrue(wheel.isStopped());
+        assertThrows(IllegalStateException.class, () -> wheel.newTimeout(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,59 @@
+import com.xizhooou.eagerthreadpool.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles_shouldStayWithinBucketPrecision() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            h.record(v * 1_000);
+        }
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(100_000, s.count());
+        assertWithin(50_000_000L, s.p50());
+        assertWithin(99_000_000L, s.p99());
+        assertWithin(99_900_000L, s.p999());
+        assertEquals(100_000_000L, s.max());
+    }
+
+    @Test
+    void smallValues_shouldBeExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(3);
+        h.record(-5);
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(0, s.percentile(0.5), "negative values are clamped to 0");
+        assertEquals(3, s.max());
+    }
+
+    @Test
+    void since_shouldOnlyContainNewSamples() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            h.record(1_000_000);
+        }
+        LatencyHistogram.Snapshot before = h.snapshot();
+        for (int i = 0; i < 10; i++) {
+            h.record(10_000);
+        }
+        LatencyHistogram.Snapshot delta = h.snapshot().since(before);
+        assertEquals(10, delta.count());
+        assertWithin(10_000, delta.p99());
+    }
+
+    @Test
+    void emptySnapshot_shouldReportZero() {
+        LatencyHistogram.Snapshot s = new LatencyHistogram().snapshot();
+        assertEquals(0, s.count());
+        assertEquals(0, s.p99());
+        assertEquals(0, s.max());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= 1.0 / 32, "expected ~" + expected + " but was " + actual);
+    }
+}
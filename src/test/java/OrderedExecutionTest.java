@@ -0,0 +1,261 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedExecutionTest {
+
+    private static EagerThreadPoolExecutor singleWorker(String name, RejectedExecutionHandler handler) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(handler)
+                .build();
+    }
+
+    private static CountDownLatch block(EagerThreadPoolExecutor ex) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ex.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void awaitTrue(BooleanSupplier cond) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cond.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cond.getAsBoolean());
+    }
+
+    @Test
+    @Timeout(20)
+    void sameKey_shouldRunInOrder_andNeverConcurrently() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("ordered-order")
+                .corePoolSize(2)
+                .maximumPoolSize(4)
+                .queueCapacity(1024)
+                .build();
+        int keys = 8;
+        int perKey = 500;
+        List<List<Integer>> seen = new ArrayList<>();
+        AtomicInteger[] inFlight = new AtomicInteger[keys];
+        AtomicBoolean overlapped = new AtomicBoolean();
+        for (int k = 0; k < keys; k++) {
+            seen.add(Collections.synchronizedList(new ArrayList<>()));
+            inFlight[k] = new AtomicInteger();
+        }
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+        for (int i = 0; i < perKey; i++) {
+            for (int k = 0; k < keys; k++) {
+                int key = k;
+                int seq = i;
+                ex.executeOrdered("key-" + key, () -> {
+                    if (inFlight[key].incrementAndGet() != 1) {
+                        overlapped.set(true);
+                    }
+                    seen.get(key).add(seq);
+                    inFlight[key].decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int k = 0; k < keys; k++) {
+            List<Integer> order = seen.get(k);
+            assertEquals(perKey, order.size());
+            for (int i = 0; i < perKey; i++) {
+                assertEquals(i, order.get(i));
+            }
+        }
+        // 空闲邮箱回收，计数归零
+        awaitTrue(() -> ex.getOrderedKeyNum() == 0 && ex.getSubmittedTaskCount() == 0);
+        assertEquals(0, ex.getRejectedNum());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void differentKeys_shouldRunInParallel_withEagerExpansion() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("ordered-parallel")
+                .corePoolSize(1)
+                .maximumPoolSize(3)
+                .queueCapacity(16)
+                .build();
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sameKeyRan = new AtomicInteger();
+        try {
+            for (String key : new String[]{"a", "b", "c"}) {
+                ex.executeOrdered(key, () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+            }
+            // 同 key 的后续任务排在邮箱里，不占 worker
+            ex.executeOrdered("a", sameKeyRan::incrementAndGet);
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            assertEquals(3, ex.getPoolSize());
+            assertEquals(3, ex.getOrderedKeyNum());
+            assertEquals(3, ex.getSubmittedTaskCount());
+            assertEquals(0, sameKeyRan.get());
+        } finally {
+            release.countDown();
+        }
+        awaitTrue(() -> sameKeyRan.get() == 1 && ex.getOrderedKeyNum() == 0);
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void failingTask_shouldNotBlockSameKey() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("ordered-fail", new ThreadPoolExecutor.AbortPolicy());
+        AtomicInteger caught = new AtomicInteger();
+        ex.setThreadFactory(r -> {
+            Thread t = new Thread(r);
+            t.setUncaughtExceptionHandler((th, e) -> caught.incrementAndGet());
+            return t;
+        });
+        CountDownLatch done = new CountDownLatch(1);
+        ex.executeOrdered("k", () -> {
+            throw new IllegalStateException("boom");
+        });
+        ex.executeOrdered("k", done::countDown);
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(1, caught.get());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectedDispatch_shouldThrow_andKeyStayUsable() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("ordered-abort", new ThreadPoolExecutor.AbortPolicy());
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> ex.executeOrdered("k", ran::incrementAndGet));
+            assertEquals(1, ex.getRejectedNum());
+            assertEquals(0, ex.getOrderedKeyNum());
+            assertEquals(2, ex.getSubmittedTaskCount());
+        } finally {
+            release.countDown();
+        }
+        awaitTrue(() -> ex.getSubmittedTaskCount() == 0);
+        CountDownLatch done = new CountDownLatch(1);
+        ex.executeOrdered("k", done::countDown);
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(0, ran.get());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void silentlyDiscardedDispatch_shouldDropTasks_andReclaimMailbox() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("ordered-discard", new ThreadPoolExecutor.DiscardPolicy());
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            ex.executeOrdered("k", ran::incrementAndGet);
+            assertEquals(1, ex.getRejectedNum());
+            assertEquals(0, ex.getOrderedKeyNum());
+        } finally {
+            release.countDown();
+        }
+        awaitTrue(() -> ex.getSubmittedTaskCount() == 0);
+        CountDownLatch done = new CountDownLatch(1);
+        ex.executeOrdered("k", done::countDown);
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(0, ran.get());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectedDispatch_shouldRejectOnlyCallersTask_andRedispatchOthers() throws Exception {
+        // 拒绝策略执行期间同 key 登记了另一个任务（模拟其他线程），并腾出一个队列空位
+        Runnable filler = () -> { };
+        AtomicInteger own = new AtomicInteger();
+        CountDownLatch other = new CountDownLatch(1);
+        EagerThreadPoolExecutor[] holder = new EagerThreadPoolExecutor[1];
+        EagerThreadPoolExecutor ex = singleWorker("ordered-redispatch", (r, e) -> {
+            holder[0].executeOrdered("k", other::countDown);
+            e.getQueue().remove(filler);
+        });
+        holder[0] = ex;
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(filler);
+            ex.executeOrdered("k", own::incrementAndGet);
+            assertEquals(1, ex.getRejectedNum());
+            assertEquals(1, ex.getOrderedKeyNum());
+        } finally {
+            release.countDown();
+        }
+        assertTrue(other.await(2, TimeUnit.SECONDS));
+        assertEquals(0, own.get());
+        awaitTrue(() -> ex.getOrderedKeyNum() == 0 && ex.getSubmittedTaskCount() == 0);
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectedDispatch_withFullQueue_shouldCountEveryDiscardedTask() throws Exception {
+        AtomicInteger ran = new AtomicInteger();
+        EagerThreadPoolExecutor[] holder = new EagerThreadPoolExecutor[1];
+        EagerThreadPoolExecutor ex = singleWorker("ordered-count", (r, e) -> {
+            holder[0].executeOrdered("k", ran::incrementAndGet);
+            holder[0].executeOrdered("k", ran::incrementAndGet);
+        });
+        holder[0] = ex;
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            ex.executeOrdered("k", ran::incrementAndGet);
+            assertEquals(3, ex.getRejectedNum());
+            assertEquals(0, ex.getOrderedKeyNum());
+        } finally {
+            release.countDown();
+        }
+        awaitTrue(() -> ex.getSubmittedTaskCount() == 0);
+        assertEquals(0, ran.get());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+    }
+}
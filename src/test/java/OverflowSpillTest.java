@@ -0,0 +1,206 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.spill.SpillSegmentStore;
+import com.xizhooou.eagerthreadpool.spill.SpillTaskDecoder;
+import com.xizhooou.eagerthreadpool.spill.SpillableTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverflowSpillTest {
+
+    private record Job(int id, List<Integer> ran) implements SpillableTask {
+        @Override
+        public void run() {
+            ran.add(id);
+        }
+
+        @Override
+        public byte[] serialize() {
+            return ByteBuffer.allocate(4).putInt(id).array();
+        }
+    }
+
+    private static SpillTaskDecoder decoder(List<Integer> ran) {
+        return payload -> new Job(ByteBuffer.wrap(payload).getInt(), ran);
+    }
+
+    private static byte[] record(int i) {
+        return ByteBuffer.allocate(64).putInt(i).array();
+    }
+
+    private static List<Path> segments(Path dir) throws Exception {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static EagerThreadPoolExecutor spillingPool(String name, Path dir, List<Integer> ran) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(2)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .overflowSpill(dir, 64 * 1024, decoder(ran))
+                .overflowSpillSegmentBytes(4096)
+                .build();
+    }
+
+    private static CountDownLatch block(EagerThreadPoolExecutor ex) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ex.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    void store_shouldReadFifoAcrossSegments_andDeleteConsumedSegments(@TempDir Path dir) throws Exception {
+        try (SpillSegmentStore store = SpillSegmentStore.open(dir, 1024, 8 * 1024)) {
+            for (int i = 0; i < 40; i++) {
+                assertTrue(store.append(record(i)));
+            }
+            assertTrue(segments(dir).size() > 1);
+            for (int i = 0; i < 40; i++) {
+                assertEquals(i, ByteBuffer.wrap(store.peek()).getInt());
+                assertTrue(store.commit());
+            }
+            assertNull(store.peek());
+            assertTrue(store.isEmpty());
+            assertEquals(1, segments(dir).size(), "only the segment being written should remain");
+        }
+    }
+
+    @Test
+    void store_shouldRespectDiskBound(@TempDir Path dir) {
+        try (SpillSegmentStore store = SpillSegmentStore.open(dir, 1024, 2048)) {
+            int appended = 0;
+            while (store.append(record(appended))) {
+                appended++;
+            }
+            // 每段 (1024 - 16) / 72 = 14 条
+            assertEquals(28, appended);
+            assertEquals(2048, store.getUsedBytes());
+            assertFalse(store.append(new byte[2000]), "record larger than a segment");
+
+            // 读完第一段后可以重新分配
+            for (int i = 0; i < 14; i++) {
+                store.commit();
+            }
+            assertTrue(store.append(record(99)));
+        }
+    }
+
+    @Test
+    void store_shouldRecoverUnconsumedRecords_andTruncateTornTail(@TempDir Path dir) throws Exception {
+        try (SpillSegmentStore store = SpillSegmentStore.open(dir, 4096, 64 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(record(i));
+            }
+            for (int i = 0; i < 3; i++) {
+                store.commit();
+            }
+        }
+        // 模拟最后一条记录写了一半：破坏 payload 使 crc 不符
+        Path seg = segments(dir).get(0);
+        try (RandomAccessFile raf = new RandomAccessFile(seg.toFile(), "rw")) {
+            raf.seek(16 + 9L * 72 + 8);
+            raf.writeInt(-1);
+        }
+
+        try (SpillSegmentStore store = SpillSegmentStore.open(dir, 4096, 64 * 1024)) {
+            assertEquals(6, store.getPendingRecords());
+            List<Integer> ids = new ArrayList<>();
+            byte[] p;
+            while ((p = store.peek()) != null) {
+                ids.add(ByteBuffer.wrap(p).getInt());
+                store.commit();
+            }
+            assertEquals(List.of(3, 4, 5, 6, 7, 8), ids);
+            assertTrue(store.append(record(100)));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void fullQueue_shouldSpillInsteadOfReject_andReplayInOrder(@TempDir Path dir) throws Exception {
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor ex = spillingPool("spill-replay", dir, ran);
+        CountDownLatch release = block(ex);
+        try {
+            for (int i = 0; i < 50; i++) {
+                ex.execute(new Job(i, ran));
+            }
+            assertEquals(48, ex.getSpilledNum());
+            assertEquals(48, ex.getSpillPendingNum());
+            // 不可落盘的任务仍然被拒绝
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+            assertEquals(3, ex.getSubmittedTaskCount());
+        } finally {
+            release.countDown();
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ran.size() < 50 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), ran);
+        assertEquals(0, ex.getSpillPendingNum());
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void spilledTasks_shouldSurviveRestart(@TempDir Path dir) throws Exception {
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor first = spillingPool("spill-restart", dir, ran);
+        CountDownLatch release = block(first);
+        for (int i = 0; i < 10; i++) {
+            first.execute(new Job(i, ran));
+        }
+        assertEquals(8, first.getSpillPendingNum());
+        // 关闭后不再重放，剩余任务留在磁盘上
+        first.shutdownNow();
+        release.countDown();
+        assertTrue(first.awaitTermination(3, TimeUnit.SECONDS));
+        assertFalse(segments(dir).isEmpty());
+
+        List<Integer> recovered = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor second = spillingPool("spill-restart-2", dir, recovered);
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (recovered.size() < 8 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9), recovered);
+        } finally {
+            second.shutdown();
+            assertTrue(second.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.PoolReconfiguration;
+import com.xizhooou.eagerthreadpool.QueueType;
+import com.xizhooou.eagerthreadpool.alert.AlertEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolReconfigurationTest {
+
+    private static EagerThreadPoolExecutor singleWorker(QueueType type, int queueCapacity) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name("reconfig-" + type)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(queueCapacity)
+                .queueType(type)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+    }
+
+    private static CountDownLatch block(EagerThreadPoolExecutor ex) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ex.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueueType.class)
+    @Timeout(10)
+    void queueCapacity_shouldGrowAndShrink_withoutLosingQueuedTasks(QueueType type) throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker(type, 4);
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch release = block(ex);
+        try {
+            ex.reconfigure(PoolReconfiguration.newBuilder().queueCapacity(2).build());
+            assertEquals(2, ex.getQueueCapacity());
+            ex.execute(ran::incrementAndGet);
+            ex.execute(ran::incrementAndGet);
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(ran::incrementAndGet));
+
+            ex.reconfigure(PoolReconfiguration.newBuilder().queueCapacity(4).build());
+            ex.execute(ran::incrementAndGet);
+            ex.execute(ran::incrementAndGet);
+            assertEquals(4, ex.getQueue().size());
+            assertEquals(0, ex.getQueue().remainingCapacity());
+
+            // 缩容到已排队数以下：已排队的保留，新任务被拒绝
+            ex.reconfigure(PoolReconfiguration.newBuilder().queueCapacity(1).build());
+            assertEquals(4, ex.getQueue().size());
+            assertEquals(0, ex.getQueue().remainingCapacity());
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(ran::incrementAndGet));
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(4, ran.get());
+        assertEquals(2, ex.getRejectedNum());
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    void ringQueue_shouldNotGrowBeyondPreallocatedSlots_andLeaveOtherSettingsUnchanged() {
+        EagerThreadPoolExecutor ex = singleWorker(QueueType.RING, 4);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> ex.reconfigure(PoolReconfiguration.newBuilder()
+                    .queueCapacity(8)
+                    .retryOfferTimeout(5, TimeUnit.SECONDS)
+                    .build()));
+            assertEquals(4, ex.getQueueCapacity());
+            assertEquals(0, ex.getRetryOfferTimeout(TimeUnit.MILLISECONDS));
+        } finally {
+            ex.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidPoolSize_shouldBeRejectedWithoutChanges() {
+        EagerThreadPoolExecutor ex = singleWorker(QueueType.LINKED, 4);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> ex.reconfigure(PoolReconfiguration.newBuilder()
+                    .corePoolSize(4)
+                    .queueCapacity(16)
+                    .build()));
+            assertEquals(1, ex.getCorePoolSize());
+            assertEquals(4, ex.getQueueCapacity());
+
+            ex.reconfigure(PoolReconfiguration.newBuilder().corePoolSize(4).maximumPoolSize(8).build());
+            assertEquals(4, ex.getCorePoolSize());
+            assertEquals(8, ex.getMaximumPoolSize());
+            ex.reconfigure(PoolReconfiguration.newBuilder().corePoolSize(2).maximumPoolSize(2).build());
+            assertEquals(2, ex.getCorePoolSize());
+            assertEquals(2, ex.getMaximumPoolSize());
+        } finally {
+            ex.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void retryOfferTimeout_shouldApplyToNextRejection() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("reconfig-retry")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        CountDownLatch release = block(ex);
+        AtomicInteger ran = new AtomicInteger();
+        try {
+            ex.execute(ran::incrementAndGet);
+            ex.reconfigure(PoolReconfiguration.newBuilder().retryOfferTimeout(3, TimeUnit.SECONDS).build());
+            assertEquals(3000, ex.getRetryOfferTimeout(TimeUnit.MILLISECONDS));
+
+            Thread releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                }
+                release.countDown();
+            });
+            releaser.start();
+            // 队列满，等待 worker 腾出空位后重新入队成功
+            ex.execute(ran::incrementAndGet);
+            releaser.join();
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(2, ran.get());
+    }
+
+    @Test
+    @Timeout(15)
+    void alertThreshold_shouldTakeEffectLive() throws Exception {
+        List<AlertEvent> received = new CopyOnWriteArrayList<>();
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("reconfig-alert")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .alertEnabled(true)
+                .alertSink(received::addAll)
+                .thresholdPerMinute(1000)
+                .cooldownSeconds(0)
+                .build();
+        CountDownLatch release = block(ex);
+        try {
+            ex.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+
+            ex.reconfigure(PoolReconfiguration.newBuilder().thresholdPerMinute(2).build());
+            assertEquals(2, ex.getAlertConfig().thresholdPerMinute());
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertFalse(received.isEmpty(), "alert should be sent after lowering threshold");
+            assertTrue(received.get(0).content().contains("threshold=2"), received.get(0).content());
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+}
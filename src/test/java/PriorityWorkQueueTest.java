@@ -0,0 +1,115 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.PrioritizedRunnable;
+import com.xizhooou.eagerthreadpool.PriorityWorkQueue;
+import com.xizhooou.eagerthreadpool.QueueType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityWorkQueueTest {
+
+    @Test
+    void poll_shouldOrderByPriority_andKeepFifoWithinSamePriority() {
+        PriorityWorkQueue q = new PriorityWorkQueue(8);
+        Runnable low1 = PrioritizedRunnable.of(-1, () -> { });
+        Runnable plain1 = () -> { };
+        Runnable high1 = PrioritizedRunnable.of(10, () -> { });
+        Runnable plain2 = () -> { };
+        Runnable high2 = PrioritizedRunnable.of(10, () -> { });
+        Runnable low2 = PrioritizedRunnable.of(-1, () -> { });
+        for (Runnable r : List.of(low1, plain1, high1, plain2, high2, low2)) {
+            assertTrue(q.offer(r));
+        }
+
+        List<Runnable> drained = new ArrayList<>();
+        assertEquals(6, q.drainTo(drained));
+        assertEquals(List.of(high1, high2, plain1, plain2, low1, low2), drained);
+    }
+
+    @Test
+    void offer_shouldRespectCapacity_andRemoveShouldKeepHeapOrder() {
+        PriorityWorkQueue q = new PriorityWorkQueue(100);
+        Random random = new Random(42);
+        List<PrioritizedRunnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            PrioritizedRunnable r = PrioritizedRunnable.of(random.nextInt(5), () -> { });
+            tasks.add(r);
+            assertTrue(q.offer(r));
+        }
+        assertFalse(q.offer(() -> { }), "queue should be full");
+        assertEquals(0, q.remainingCapacity());
+
+        for (int i = 0; i < tasks.size(); i += 3) {
+            assertTrue(q.remove(tasks.get(i)));
+        }
+
+        int lastPriority = Integer.MAX_VALUE;
+        int lastIndex = -1;
+        Runnable r;
+        while ((r = q.poll()) != null) {
+            PrioritizedRunnable p = (PrioritizedRunnable) r;
+            int index = tasks.indexOf(p);
+            assertNotEquals(0, index % 3, "removed task should not be dequeued");
+            assertTrue(p.getPriority() <= lastPriority);
+            if (p.getPriority() == lastPriority) {
+                assertTrue(index > lastIndex, "same priority should be FIFO");
+            }
+            lastPriority = p.getPriority();
+            lastIndex = index;
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    void executor_shouldRunHighPriorityFirst_andKeepPriorityThroughSubmit() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .poolName("priority")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(16)
+                .queueType(QueueType.PRIORITY)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        try {
+            ex.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+
+            ex.execute(PrioritizedRunnable.of(0, () -> order.add("batch-1")));
+            ex.execute(PrioritizedRunnable.of(0, () -> order.add("batch-2")));
+            Future<?> urgent = ex.submit(PrioritizedRunnable.of(5, () -> order.add("urgent")));
+            ex.execute(() -> order.add("plain"));
+
+            release.countDown();
+            urgent.get(2, TimeUnit.SECONDS);
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(2, TimeUnit.SECONDS));
+
+            assertEquals(List.of("urgent", "batch-1", "batch-2", "plain"), order);
+            assertEquals(0, ex.getSubmittedTaskCount());
+        } finally {
+            release.countDown();
+            ex.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.metrics.PrometheusMetricsServer;
+import com.xizhooou.eagerthreadpool.registry.EagerThreadPoolRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusMetricsServerTest {
+
+    private static EagerThreadPoolExecutor newPool(String name) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .latencyTracking(true)
+                .build();
+    }
+
+    @Test
+    @Timeout(10)
+    void scrape_shouldExposeCountersQueueDepthAndHistograms() throws Exception {
+        EagerThreadPoolExecutor ex = newPool("prom-a");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (PrometheusMetricsServer server = PrometheusMetricsServer.start(
+                new InetSocketAddress("127.0.0.1", 0), EagerThreadPoolRegistry.getInstance())) {
+            for (int i = 0; i < 3; i++) {
+                ex.submit(() -> { }).get(2, TimeUnit.SECONDS);
+            }
+            ex.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            ex.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> ex.execute(() -> { }));
+
+            HttpResponse<String> resp = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, resp.statusCode());
+            assertTrue(resp.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+
+            List<String> lines = resp.body().lines().toList();
+            assertTrue(lines.contains("# TYPE eager_threadpool_rejected_tasks_total counter"));
+            assertTrue(lines.contains("eager_threadpool_rejected_tasks_total{pool=\"prom-a\"} 1"));
+            assertTrue(lines.contains("eager_threadpool_queue_size{pool=\"prom-a\"} 1"));
+            assertTrue(lines.contains("eager_threadpool_active_threads{pool=\"prom-a\"} 1"));
+            assertTrue(lines.contains("eager_threadpool_completed_tasks_total{pool=\"prom-a\"} 3"));
+            assertTrue(lines.contains("# TYPE eager_threadpool_queue_wait_seconds histogram"));
+            // 4 个任务已开始执行
+            assertTrue(lines.contains("eager_threadpool_queue_wait_seconds_bucket{pool=\"prom-a\",le=\"+Inf\"} 4"));
+            assertTrue(lines.contains("eager_threadpool_queue_wait_seconds_count{pool=\"prom-a\"} 4"));
+            assertTrue(lines.contains("eager_threadpool_run_time_seconds_count{pool=\"prom-a\"} 3"));
+
+            long prev = -1;
+            for (String line : lines) {
+                if (line.startsWith("eager_threadpool_queue_wait_seconds_bucket{pool=\"prom-a\"")) {
+                    long v = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+                    assertTrue(v >= prev, line);
+                    prev = v;
+                }
+            }
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void poolNameLabel_shouldBeEscaped() throws Exception {
+        EagerThreadPoolExecutor ex = newPool("prom \"q\\线程池\"");
+        try (PrometheusMetricsServer server = PrometheusMetricsServer.start(
+                new InetSocketAddress("127.0.0.1", 0), EagerThreadPoolRegistry.getInstance())) {
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            server.writeTo(bytes);
+            String text = bytes.toString(java.nio.charset.StandardCharsets.UTF_8);
+            assertTrue(text.contains("eager_threadpool_core_size{pool=\"prom \\\"q\\\\线程池\\\"\"} 1"), text);
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(20)
+    void repeatedScrapes_shouldReuseBuffer() throws Exception {
+        EagerThreadPoolExecutor ex = newPool("prom-alloc");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try (PrometheusMetricsServer server = PrometheusMetricsServer.start(
+                new InetSocketAddress("127.0.0.1", 0), EagerThreadPoolRegistry.getInstance())) {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    ex.execute(() -> { });
+                } catch (RejectedExecutionException ignored) {
+                    // 拒绝也计入指标
+                }
+            }
+            OutputStream sink = OutputStream.nullOutputStream();
+            for (int i = 0; i < 2_000; i++) {
+                server.writeTo(sink);
+            }
+            long tid = Thread.currentThread().getId();
+            int n = 1_000;
+            long before = threads.getThreadAllocatedBytes(tid);
+            for (int i = 0; i < n; i++) {
+                server.writeTo(sink);
+            }
+            long perScrape = (threads.getThreadAllocatedBytes(tid) - before) / n;
+            // 只剩遍历注册表的迭代器等少量对象，远小于输出本身
+            assertTrue(perScrape < 512, "allocated per scrape=" + perScrape);
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+}
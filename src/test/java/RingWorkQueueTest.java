@@ -0,0 +1,175 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.QueueType;
+import com.xizhooou.eagerthreadpool.RingWorkQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingWorkQueueTest {
+
+    @Test
+    void offerPoll_shouldBeFifoAndBounded() {
+        RingWorkQueue q = new RingWorkQueue(3);
+        Runnable a = () -> { };
+        Runnable b = () -> { };
+        Runnable c = () -> { };
+        assertTrue(q.offer(a));
+        assertTrue(q.offer(b));
+        assertTrue(q.offer(c));
+        assertFalse(q.offer(() -> { }), "queue should be full");
+        assertEquals(3, q.size());
+        assertEquals(0, q.remainingCapacity());
+
+        assertSame(a, q.poll());
+        assertSame(b, q.poll());
+        assertTrue(q.offer(a), "slot should be reusable after wrap-around");
+        assertSame(c, q.poll());
+        assertSame(a, q.poll());
+        assertNull(q.poll());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void remove_shouldSkipRemovedSlotOnDequeue() {
+        RingWorkQueue q = new RingWorkQueue(4);
+        Runnable a = () -> { };
+        Runnable b = () -> { };
+        Runnable c = () -> { };
+        q.offer(a);
+        q.offer(b);
+        q.offer(c);
+
+        assertTrue(q.remove(b));
+        assertFalse(q.contains(b));
+        assertFalse(q.remove(b), "already removed");
+        assertEquals(2, q.size());
+
+        List<Runnable> drained = new ArrayList<>();
+        assertEquals(2, q.drainTo(drained));
+        assertEquals(List.of(a, c), drained);
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void timedOperations_shouldParkUntilSpaceOrElementAvailable() throws Exception {
+        RingWorkQueue q = new RingWorkQueue(1);
+        assertNull(q.poll(20, TimeUnit.MILLISECONDS), "empty queue should time out");
+
+        q.offer(() -> { });
+        assertFalse(q.offer(() -> { }, 20, TimeUnit.MILLISECONDS), "full queue should time out");
+
+        Runnable late = () -> { };
+        Thread producer = new Thread(() -> {
+            try {
+                q.put(late);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        producer.start();
+        assertNotNull(q.take());
+        assertSame(late, q.poll(1, TimeUnit.SECONDS), "blocked producer should be woken once space frees up");
+        producer.join(1000);
+    }
+
+    @Test
+    @Timeout(20)
+    void concurrentProducersConsumers_shouldNotLoseOrDuplicateTasks() throws Exception {
+        RingWorkQueue q = new RingWorkQueue(64);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicInteger consumed = new AtomicInteger();
+        Runnable task = consumed::incrementAndGet;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < perProducer; j++) {
+                    try {
+                        q.put(task);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+        AtomicBoolean done = new AtomicBoolean(false);
+        for (int i = 0; i < producers; i++) {
+            threads.add(new Thread(() -> {
+                while (!done.get() || !q.isEmpty()) {
+                    try {
+                        Runnable r = q.poll(10, TimeUnit.MILLISECONDS);
+                        if (r != null) {
+                            r.run();
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (int i = 0; i < producers; i++) {
+            threads.get(i).join();
+        }
+        done.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(producers * perProducer, consumed.get());
+    }
+
+    @Test
+    @Timeout(10)
+    void ringQueueExecutor_discardOldest_shouldNotLeakSubmittedCount() throws Exception {
+        AtomicLong rejectedNum = new AtomicLong(0);
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("ring-test")
+                .corePoolSize(1)
+                .maximumPoolSize(2)
+                .queueCapacity(1)
+                .queueType(QueueType.RING)
+                .rejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy())
+                .rejectedCounter(rejectedNum)
+                .build();
+        assertInstanceOf(RingWorkQueue.class, ex.getQueue());
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicBoolean oldestRan = new AtomicBoolean(false);
+        AtomicBoolean newestRan = new AtomicBoolean(false);
+        try {
+            for (int i = 0; i < 2; i++) {
+                ex.execute(() -> {
+                    started.countDown();
+                    try {
+                        blocker.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+            }
+            assertTrue(started.await(2, TimeUnit.SECONDS), "eager expansion to max should not queue");
+            ex.execute(() -> oldestRan.set(true));
+            ex.execute(() -> newestRan.set(true));
+        } finally {
+            blocker.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertFalse(oldestRan.get());
+        assertTrue(newestRan.get());
+        assertEquals(0, ex.getSubmittedTaskCount());
+        assertEquals(1, rejectedNum.get());
+    }
+}
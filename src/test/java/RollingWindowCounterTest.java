@@ -0,0 +1,104 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.alert.RollingWindowCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowCounterTest {
+
+    @Test
+    @Timeout(20)
+    void concurrentIncrements_shouldNotBeLost() throws Exception {
+        RollingWindowCounter counter = new RollingWindowCounter(60);
+        int threads = 16;
+        int perThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    counter.increment();
+                }
+            });
+            workers.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : workers) {
+            t.join();
+        }
+
+        long expected = (long) threads * perThread;
+        assertEquals(expected, counter.sumLastWindow());
+        assertEquals(expected, counter.sumLastMinute());
+        assertEquals(expected, counter.sumLastHour());
+    }
+
+    @Test
+    @Timeout(10)
+    void ratePerSecond_shouldOnlyCountCompleteSeconds() throws Exception {
+        RollingWindowCounter counter = new RollingWindowCounter();
+        for (int i = 0; i < 50; i++) {
+            counter.increment();
+        }
+        counter.add(-10);
+        assertEquals(40, counter.sumLastSeconds(5));
+
+        // 等当前秒走完，40 次落在最近 5 个完整秒内
+        Thread.sleep(1100);
+        assertEquals(40.0 / 5, counter.ratePerSecond(5), 1e-9);
+        assertEquals(0, counter.sumLastSeconds(0));
+    }
+
+    @Test
+    @Timeout(10)
+    void executor_shouldCountAcceptedAndCompleted_excludingRejected() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("window")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(2)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .throughputTracking(true)
+                .build();
+        CountDownLatch release = new CountDownLatch(1);
+        int rejected = 0;
+        try {
+            ex.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            for (int i = 0; i < 5; i++) {
+                try {
+                    ex.execute(() -> { });
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                }
+            }
+            assertEquals(3, rejected);
+            assertEquals(3, ex.getAcceptedCounter().sumLastMinute());
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(3, ex.getCompletedCounter().sumLastMinute());
+        assertEquals(3, ex.getRejectedInLastWindow());
+    }
+}
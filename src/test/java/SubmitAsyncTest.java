@@ -0,0 +1,225 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmitAsyncTest {
+
+    private static EagerThreadPoolExecutor singleWorker(String name, RejectedExecutionHandler handler) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .name(name)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(1)
+                .rejectedHandler(handler)
+                .build();
+    }
+
+    private static CountDownLatch block(EagerThreadPoolExecutor ex) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ex.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    @Timeout(10)
+    void submitAsync_shouldCompleteWithValueOrException() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("async-basic", new ThreadPoolExecutor.AbortPolicy());
+        try {
+            CompletableFuture<String> ok = ex.submitAsync(() -> Thread.currentThread().getName());
+            assertTrue(ok.get(2, TimeUnit.SECONDS).startsWith("async-basic-worker-"));
+
+            CompletableFuture<Integer> failed = ex.submitAsync(() -> {
+                throw new IllegalStateException("boom");
+            });
+            ExecutionException ee = assertThrows(ExecutionException.class, () -> failed.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ee.getCause());
+
+            assertEquals(6, ex.submitAsync(() -> 2).thenApply(v -> v * 3).get(2, TimeUnit.SECONDS));
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+        assertEquals(3, ex.getCompletedTaskNum());
+    }
+
+    @Test
+    @Timeout(10)
+    void rejection_shouldCompleteExceptionally_insteadOfThrowing() throws Exception {
+        EagerThreadPoolExecutor abort = singleWorker("async-abort", new ThreadPoolExecutor.AbortPolicy());
+        EagerThreadPoolExecutor discard = singleWorker("async-discard", new ThreadPoolExecutor.DiscardPolicy());
+        CountDownLatch r1 = block(abort);
+        CountDownLatch r2 = block(discard);
+        try {
+            for (EagerThreadPoolExecutor ex : new EagerThreadPoolExecutor[]{abort, discard}) {
+                CompletableFuture<Integer> queued = ex.submitAsync(() -> 1);
+                CompletableFuture<Integer> rejected = ex.submitAsync(() -> 2);
+                assertTrue(rejected.isCompletedExceptionally(), ex.getPoolName());
+                ExecutionException ee = assertThrows(ExecutionException.class, rejected::get);
+                assertInstanceOf(RejectedExecutionException.class, ee.getCause());
+                assertFalse(queued.isDone());
+                assertEquals(1, ex.getRejectedNum());
+                assertEquals(2, ex.getSubmittedTaskCount());
+            }
+        } finally {
+            r1.countDown();
+            r2.countDown();
+            abort.shutdown();
+            discard.shutdown();
+            assertTrue(abort.awaitTermination(3, TimeUnit.SECONDS));
+            assertTrue(discard.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, abort.getSubmittedTaskCount());
+        assertEquals(0, discard.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void callerRuns_shouldCompleteNormally() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("async-caller", new ThreadPoolExecutor.CallerRunsPolicy());
+        CountDownLatch release = block(ex);
+        try {
+            ex.submitAsync(() -> 0);
+            CompletableFuture<String> ran = ex.submitAsync(() -> Thread.currentThread().getName());
+            assertEquals(Thread.currentThread().getName(), ran.getNow(null));
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void discardOldest_shouldFailEvictedTask_andRunResubmittedOne() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("async-oldest", new ThreadPoolExecutor.DiscardOldestPolicy());
+        CountDownLatch release = block(ex);
+        boolean[] ran = new boolean[1];
+        CompletableFuture<Integer> oldest;
+        CompletableFuture<Integer> newest;
+        try {
+            oldest = ex.submitAsync(() -> 1);
+            newest = ex.submitAsync(() -> {
+                ran[0] = true;
+                return 2;
+            });
+            ExecutionException ee = assertThrows(ExecutionException.class, () -> oldest.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, ee.getCause());
+            // 被重新放回队列的任务不算丢弃
+            assertFalse(newest.isDone());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(2, newest.get(2, TimeUnit.SECONDS));
+        assertTrue(ran[0]);
+        ex.shutdown();
+        assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void handlerResubmittingToNewWorker_shouldNotFailTask() throws Exception {
+        // 重新提交时直接交给新建的 worker，任务从未进入队列，也不算丢弃
+        RejectedExecutionHandler grow = (r, e) -> {
+            e.setMaximumPoolSize(2);
+            e.execute(r);
+        };
+        EagerThreadPoolExecutor ex = singleWorker("async-grow", grow);
+        CountDownLatch release = block(ex);
+        try {
+            ex.submitAsync(() -> 0);
+            CompletableFuture<Integer> resubmitted = ex.submitAsync(() -> 2);
+            assertEquals(2, resubmitted.get(2, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void cancelledBeforeRun_shouldBeSkipped() throws Exception {
+        EagerThreadPoolExecutor ex = singleWorker("async-cancel", new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = block(ex);
+        boolean[] ran = new boolean[1];
+        CompletableFuture<Integer> f;
+        try {
+            f = ex.submitAsync(() -> {
+                ran[0] = true;
+                return 1;
+            });
+            assertTrue(f.cancel(false));
+        } finally {
+            release.countDown();
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertTrue(f.isCancelled());
+        assertFalse(ran[0]);
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void submitAsync_shouldAllocateLessThanSupplyAsync() throws Exception {
+        EagerThreadPoolExecutor ex = EagerThreadPoolBuilder.newBuilder()
+                .name("async-alloc")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .queueCapacity(100_000)
+                .latencyTracking(false)
+                .build();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        Supplier<Integer> supplier = () -> 1;
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                ex.submitAsync(supplier).join();
+                CompletableFuture.supplyAsync(supplier, ex).join();
+            }
+            int n = 10_000;
+            long before = threads.getThreadAllocatedBytes(tid);
+            CompletableFuture<?> last = null;
+            for (int i = 0; i < n; i++) {
+                last = ex.submitAsync(supplier);
+            }
+            long async = threads.getThreadAllocatedBytes(tid) - before;
+            last.join();
+
+            before = threads.getThreadAllocatedBytes(tid);
+            for (int i = 0; i < n; i++) {
+                last = CompletableFuture.supplyAsync(supplier, ex);
+            }
+            long wrapped = threads.getThreadAllocatedBytes(tid) - before;
+            last.join();
+            assertTrue(async < wrapped, "submitAsync=" + async / n + "B/task, supplyAsync=" + wrapped / n + "B/task");
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import com.xizhooou.eagerthreadpool.AtomicTaskCounter;
+import com.xizhooou.eagerthreadpool.StripedTaskCounter;
+import com.xizhooou.eagerthreadpool.TaskCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskCounterTest {
+
+    @Test
+    void atomicCounter_shouldClampAtZero() {
+        TaskCounter counter = new AtomicTaskCounter();
+        counter.add(-3);
+        counter.add(1);
+        assertEquals(1, counter.get());
+        assertEquals(1, counter.getExact());
+    }
+
+    @Test
+    void stripedCounter_shouldClampAtZero_likeAtomicCounter() {
+        TaskCounter counter = new StripedTaskCounter(4);
+        counter.add(-3);
+        assertEquals(0, counter.get(), "approximate read should never be negative");
+        assertEquals(0, counter.getExact(), "exact read should never be negative");
+
+        // 与 AtomicTaskCounter 一致：多余的递减在写入时被吸收
+        counter.add(1);
+        assertEquals(1, counter.get());
+        assertEquals(1, counter.getExact());
+
+        // 递减可以从其他线程的 cell 中扣
+        Thread other = new Thread(() -> counter.add(5));
+        other.start();
+        try {
+            other.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        counter.add(-4);
+        assertEquals(2, counter.getExact());
+        counter.add(-10);
+        assertEquals(0, counter.getExact());
+    }
+
+    @Test
+    @Timeout(20)
+    void stripedCounter_concurrentAddsShouldBalance() throws Exception {
+        TaskCounter counter = new StripedTaskCounter(8);
+        int threads = 16;
+        int rounds = 100_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < rounds; j++) {
+                    counter.add(1);
+                    counter.add(-1);
+                }
+                counter.add(1);
+            });
+            workers.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : workers) {
+            t.join();
+        }
+        assertEquals(threads, counter.getExact());
+        assertEquals(threads, counter.get());
+    }
+
+    @Test
+    @Timeout(20)
+    void stripedCounter_concurrentReadsDuringProduceConsume_shouldSettleAtZero() throws Exception {
+        TaskCounter counter = new StripedTaskCounter(8);
+        BlockingQueue<Integer> tasks = new ArrayBlockingQueue<>(1024);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        AtomicBoolean producing = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < perProducer; j++) {
+                    counter.add(1);
+                    try {
+                        tasks.put(j);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // 与 eager 入队判断一样在热路径上精确读
+                    counter.getExact();
+                }
+            }));
+        }
+        for (int i = 0; i < consumers; i++) {
+            threads.add(new Thread(() -> {
+                while (producing.get() || !tasks.isEmpty()) {
+                    Integer task;
+                    try {
+                        task = tasks.poll(1, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (task != null) {
+                        counter.add(-1);
+                        counter.getExact();
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (int i = 0; i < producers; i++) {
+            threads.get(i).join();
+        }
+        producing.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(0, counter.getExact());
+        assertEquals(0, counter.get());
+    }
+}
@@ -0,0 +1,149 @@
+import com.xizhooou.eagerthreadpool.EagerThreadPoolBuilder;
+import com.xizhooou.eagerthreadpool.EagerThreadPoolExecutor;
+import com.xizhooou.eagerthreadpool.QueueType;
+import com.xizhooou.eagerthreadpool.WorkStealingWorkQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkStealingWorkQueueTest {
+
+    private static EagerThreadPoolExecutor newExecutor(int core, int max) {
+        return newExecutor(core, max, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static EagerThreadPoolExecutor newExecutor(int core, int max, RejectedExecutionHandler handler) {
+        return EagerThreadPoolBuilder.newBuilder()
+                .poolName("steal")
+                .corePoolSize(core)
+                .maximumPoolSize(max)
+                .queueCapacity(64)
+                .workStealing(true)
+                .rejectedHandler(handler)
+                .prestartAllCoreThreads(true)
+                .build();
+    }
+
+    @Test
+    @Timeout(10)
+    void tasksSubmittedFromWorker_shouldGoLocal_andBeStolenByIdleWorker() throws Exception {
+        EagerThreadPoolExecutor ex = newExecutor(2, 2);
+        CountDownLatch children = new CountDownLatch(3);
+        AtomicReference<Thread> parent = new AtomicReference<>();
+        Set<Thread> childThreads = ConcurrentHashMap.newKeySet();
+        try {
+            ex.execute(() -> {
+                parent.set(Thread.currentThread());
+                for (int i = 0; i < 3; i++) {
+                    ex.execute(() -> {
+                        childThreads.add(Thread.currentThread());
+                        children.countDown();
+                    });
+                }
+                try {
+                    // 父任务占着自己的 worker，子任务只能被另一个 worker 窃取
+                    assertTrue(children.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException ignored) {
+                }
+            });
+
+            assertTrue(children.await(5, TimeUnit.SECONDS), "children should be stolen");
+            assertFalse(childThreads.contains(parent.get()));
+            WorkStealingWorkQueue queue = (WorkStealingWorkQueue) ex.getQueue();
+            assertEquals(3, queue.getStealCount());
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(10)
+    void shutdownNow_shouldDrainLocalDeques_andKeepCountConsistent() throws Exception {
+        EagerThreadPoolExecutor ex = newExecutor(2, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch pushed = new CountDownLatch(1);
+        try {
+            ex.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            ex.execute(() -> {
+                for (int i = 0; i < 3; i++) {
+                    ex.execute(() -> { });
+                }
+                pushed.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            assertTrue(pushed.await(2, TimeUnit.SECONDS));
+            assertEquals(3, ex.getQueue().size());
+            assertEquals(5, ex.getSubmittedTaskCount());
+
+            List<Runnable> pending = ex.shutdownNow();
+            assertEquals(3, pending.size());
+            assertTrue(ex.getQueue().isEmpty());
+        } finally {
+            release.countDown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    @Timeout(20)
+    void recursiveFanOut_shouldCompleteAllTasks() throws Exception {
+        // 本地队列与共享队列都满时由提交的 worker 自己执行
+        EagerThreadPoolExecutor ex = newExecutor(2, 8, new ThreadPoolExecutor.CallerRunsPolicy());
+        int depth = 12;
+        int expected = (1 << (depth + 1)) - 1;
+        AtomicInteger done = new AtomicInteger();
+        CountDownLatch all = new CountDownLatch(expected);
+        try {
+            ex.execute(new FanOut(ex, depth, done, all));
+            assertTrue(all.await(15, TimeUnit.SECONDS), "done=" + done.get());
+            assertEquals(expected, done.get());
+        } finally {
+            ex.shutdown();
+            assertTrue(ex.awaitTermination(3, TimeUnit.SECONDS));
+        }
+        assertEquals(0, ex.getSubmittedTaskCount());
+    }
+
+    @Test
+    void builder_shouldRejectWorkStealingWithPriorityQueue() {
+        assertThrows(IllegalArgumentException.class, () -> EagerThreadPoolBuilder.newBuilder()
+                .queueType(QueueType.PRIORITY)
+                .workStealing(true)
+                .build());
+    }
+
+    private record FanOut(EagerThreadPoolExecutor ex, int depth, AtomicInteger done, CountDownLatch all)
+            implements Runnable {
+        @Override
+        public void run() {
+            if (depth > 0) {
+                ex.execute(new FanOut(ex, depth - 1, done, all));
+                ex.execute(new FanOut(ex, depth - 1, done, all));
+            }
+            done.incrementAndGet();
+            all.countDown();
+        }
+    }
+}